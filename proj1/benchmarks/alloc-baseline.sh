@@ -0,0 +1,31 @@
+#!/bin/sh
+# Records allocation per operation (gc.alloc.rate.norm) and average time for
+# every benchmark into baseline/alloc-baseline.csv, one line per benchmark and
+# parameter set.  JMH's full CSV report is left in target/alloc-baseline-raw.csv.
+# Builds the benchmark jar first if it is missing.  Extra arguments are passed
+# on to JMH, for example a benchmark name regex such as YInBenchmark.
+set -e
+cd "$(dirname "$0")"
+if [ ! -f target/benchmarks.jar ]; then
+    mvn -B -q package
+fi
+mkdir -p baseline
+java -jar target/benchmarks.jar -prof gc -f 1 -wi 2 -w 500ms -i 3 -r 500ms \
+    -rf csv -rff target/alloc-baseline-raw.csv "$@"
+
+# Keep the average time row and the gc.alloc.rate.norm row of each benchmark
+awk -F, '
+    NR == 1 {
+        for (i = 8; i <= NF; i++) { name[i] = $i; gsub(/"|Param: /, "", name[i]) }
+        print "benchmark,params,score,unit,gc.alloc.rate.norm"
+        next
+    }
+    {
+        gsub(/"/, "")
+        sub(/^perceptron\.benchmarks\./, "", $1)
+        params = ""
+        for (i = 8; i <= NF; i++) if ($i != "") params = params (params == "" ? "" : " ") name[i] "=" $i
+    }
+    $1 !~ /:/ { benchmark = $1; score = $5; unit = $7 }
+    $1 ~ /:gc\.alloc\.rate\.norm$/ { print benchmark "," params "," score "," unit "," $5 }
+' target/alloc-baseline-raw.csv > baseline/alloc-baseline.csv
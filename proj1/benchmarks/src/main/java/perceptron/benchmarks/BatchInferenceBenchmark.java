@@ -0,0 +1,102 @@
+/*
+ * Benchmarks scoring a whole test set, sample by sample with
+ * FlatNeuralNet.classify against the blocked matrix multiply of
+ * BatchInference.classifyAll, for unpacked and packed samples.  The model is
+ * a synthetic weights file read through FileParser.parseTrainedWeights.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+package perceptron.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchInferenceBenchmark {
+    @Param({"9x7", "64x64"})
+    public String gridSize;
+
+    @Param({"7", "26"})
+    public int outputs;
+
+    @Param({"false", "true"})
+    public boolean packed;
+
+    static final int SAMPLES = 2000;
+
+    private Path directory;
+    private Object model;
+    private List<?> dataset;
+    private int[][] classifications;
+
+    @Setup(Level.Trial)
+    public void setup() throws Throwable{
+        int[] grid = SyntheticData.grid(gridSize);
+        directory = Files.createTempDirectory("perceptron-bench");
+        String dataFile = SyntheticData.writeDataFile(directory, grid[0], grid[1], outputs, SAMPLES, 42).toString();
+        String weightsFile = SyntheticData.writeWeightsFile(directory, grid[0] * grid[1], outputs, 42).toString();
+        dataset = (List<?>) PerceptronHandles.PARSE_DATA_FILE_MAPPED.invokeExact(dataFile, packed);
+        Object settings = (Object) PerceptronHandles.NEW_TESTING_SETTINGS.invokeExact();
+        PerceptronHandles.SET_TRAINED_WEIGHTS_FILE_PATH.invokeExact(settings, weightsFile);
+        PerceptronHandles.PARSE_TRAINED_WEIGHTS.invokeExact(settings);
+        model = (Object) PerceptronHandles.GET_TRAINED_MODEL.invokeExact(settings);
+        classifications = new int[SAMPLES][outputs];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException{
+        try (Stream<Path> files = Files.walk(directory)){
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public int[][] perSample(){
+        try {
+            for (int n = 0; n < SAMPLES; n++){
+                PerceptronHandles.FLAT_CLASSIFY.invokeExact(model, (Object) dataset.get(n), classifications[n]);
+            }
+            return classifications;
+        } catch (Throwable t){
+            throw PerceptronHandles.rethrow(t);
+        }
+    }
+
+    @Benchmark
+    public int[][] batch(){
+        try {
+            PerceptronHandles.BATCH_CLASSIFY_ALL.invokeExact(model, dataset, classifications);
+            return classifications;
+        } catch (Throwable t){
+            throw PerceptronHandles.rethrow(t);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Benchmarks reading data files with FileParser.parseDataFile and the mapped
+ * parser (unpacked and packed), and reading trained weights files with
+ * FileParser.parseTrainedWeights.  Inputs are synthetic files in the same
+ * formats as the sample data, written once per trial.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+package perceptron.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBenchmark {
+    @Param({"9x7", "32x32"})
+    public String gridSize;
+
+    @Param({"7", "26"})
+    public int outputs;
+
+    @Param({"21", "10000"})
+    public int samples;
+
+    private Path directory;
+    private String dataFile;
+    private String weightsFile;
+
+    @Setup(Level.Trial)
+    public void setup() throws Throwable{
+        int[] grid = SyntheticData.grid(gridSize);
+        directory = Files.createTempDirectory("perceptron-bench");
+        dataFile = SyntheticData.writeDataFile(directory, grid[0], grid[1], outputs, samples, 42).toString();
+        weightsFile = SyntheticData.writeWeightsFile(directory, grid[0] * grid[1], outputs, 42).toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException{
+        try (Stream<Path> files = Files.walk(directory)){
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public List<?> parseDataFile(){
+        try {
+            return (List<?>) PerceptronHandles.PARSE_DATA_FILE.invokeExact(dataFile);
+        } catch (Throwable t){
+            throw PerceptronHandles.rethrow(t);
+        }
+    }
+
+    @Benchmark
+    public List<?> parseDataFileMapped(){
+        try {
+            return (List<?>) PerceptronHandles.PARSE_DATA_FILE_MAPPED.invokeExact(dataFile, false);
+        } catch (Throwable t){
+            throw PerceptronHandles.rethrow(t);
+        }
+    }
+
+    @Benchmark
+    public List<?> parseDataFileMappedPacked(){
+        try {
+            return (List<?>) PerceptronHandles.PARSE_DATA_FILE_MAPPED.invokeExact(dataFile, true);
+        } catch (Throwable t){
+            throw PerceptronHandles.rethrow(t);
+        }
+    }
+
+    @Benchmark
+    public Object parseTrainedWeights(){
+        try {
+            Object settings = (Object) PerceptronHandles.NEW_TESTING_SETTINGS.invokeExact();
+            PerceptronHandles.SET_TRAINED_WEIGHTS_FILE_PATH.invokeExact(settings, weightsFile);
+            PerceptronHandles.PARSE_TRAINED_WEIGHTS.invokeExact(settings);
+            return settings;
+        } catch (Throwable t){
+            throw PerceptronHandles.rethrow(t);
+        }
+    }
+}
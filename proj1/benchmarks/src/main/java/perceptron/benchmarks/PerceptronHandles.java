@@ -0,0 +1,110 @@
+/*
+ * Method handles onto the perceptron classes in ../src.
+ *
+ * Those classes are in the default package, which code in a named package
+ * cannot reference, and JMH refuses benchmarks in the default package.  The
+ * handles are static finals so the JIT treats them as constants and inlines
+ * through them.  Types from the default package are erased to Object.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+package perceptron.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+
+final class PerceptronHandles {
+    static final MethodHandle NEURAL_NET_CALCULATE_Y_IN;
+    static final MethodHandle NEURAL_NET_UPDATE_WEIGHTS;
+    static final MethodHandle NEURAL_NET_SAVE_WEIGHTS;
+    static final MethodHandle NEURAL_NET_SAVE_RESULTS;
+    static final MethodHandle FLAT_CALCULATE_Y_IN;
+    static final MethodHandle FLAT_CALCULATE_Y_IN_PACKED;
+    static final MethodHandle FLAT_UPDATE_WEIGHTS;
+    static final MethodHandle FLAT_CLASSIFY;
+    static final MethodHandle BATCH_CLASSIFY_ALL;
+    static final MethodHandle PARSE_DATA_FILE;
+    static final MethodHandle PARSE_DATA_FILE_MAPPED;
+    static final MethodHandle PARSE_TRAINED_WEIGHTS;
+    static final MethodHandle NEW_TESTING_SETTINGS;
+    static final MethodHandle SET_TRAINED_WEIGHTS_FILE_PATH;
+    static final MethodHandle GET_TRAINED_MODEL;
+    static final MethodHandle PACK_PIXELS;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            Class<?> neuralNet = Class.forName("NeuralNet");
+            Class<?> flatNeuralNet = Class.forName("FlatNeuralNet");
+            Class<?> fileParser = Class.forName("FileParser");
+            Class<?> testingSettings = Class.forName("TestingSettings");
+            Class<?> dataSample = Class.forName("DataSample");
+            Class<?> perceptronModel = Class.forName("PerceptronModel");
+            Class<?> batchInference = Class.forName("BatchInference");
+
+            NEURAL_NET_CALCULATE_Y_IN = lookup.findStatic(neuralNet, "calculateYIn",
+                MethodType.methodType(double.class, double[][].class, double[].class, int[].class, int.class));
+            NEURAL_NET_UPDATE_WEIGHTS = lookup.findStatic(neuralNet, "updateWeights",
+                MethodType.methodType(boolean.class, double[][].class, double[].class, int[].class, int[].class, double.class, int.class, double.class));
+            NEURAL_NET_SAVE_WEIGHTS = lookup.findStatic(neuralNet, "saveWeightsToFile",
+                MethodType.methodType(void.class, double[][].class, double[].class, String.class, double.class));
+            NEURAL_NET_SAVE_RESULTS = lookup.findStatic(neuralNet, "saveResultsToFile",
+                MethodType.methodType(void.class, int[][].class, List.class, String.class));
+            FLAT_CALCULATE_Y_IN = lookup.findStatic(flatNeuralNet, "calculateYIn",
+                MethodType.methodType(double.class, double[].class, int.class, double.class, int[].class));
+            FLAT_CALCULATE_Y_IN_PACKED = lookup.findStatic(flatNeuralNet, "calculateYInPacked",
+                MethodType.methodType(double.class, double[].class, int.class, double.class, double.class, long[].class));
+            FLAT_UPDATE_WEIGHTS = lookup.findStatic(flatNeuralNet, "updateWeights",
+                MethodType.methodType(boolean.class, double[].class, int.class, double[].class, double[].class, int[].class,
+                    int.class, double.class, int.class, double.class));
+            FLAT_CLASSIFY = lookup.findStatic(flatNeuralNet, "classify",
+                MethodType.methodType(void.class, perceptronModel, dataSample, int[].class))
+                .asType(MethodType.methodType(void.class, Object.class, Object.class, int[].class));
+            BATCH_CLASSIFY_ALL = lookup.findStatic(batchInference, "classifyAll",
+                MethodType.methodType(void.class, perceptronModel, List.class, int[][].class))
+                .asType(MethodType.methodType(void.class, Object.class, List.class, int[][].class));
+            PARSE_DATA_FILE = lookup.findStatic(fileParser, "parseDataFile",
+                MethodType.methodType(List.class, String.class));
+            PARSE_DATA_FILE_MAPPED = lookup.findStatic(fileParser, "parseDataFileMapped",
+                MethodType.methodType(List.class, String.class, boolean.class));
+            PARSE_TRAINED_WEIGHTS = lookup.findStatic(fileParser, "parseTrainedWeights",
+                MethodType.methodType(void.class, testingSettings)).asType(MethodType.methodType(void.class, Object.class));
+            NEW_TESTING_SETTINGS = lookup.findConstructor(testingSettings, MethodType.methodType(void.class))
+                .asType(MethodType.methodType(Object.class));
+            // TestingSettings fields are package-private, which reflection may still set on the class path
+            java.lang.reflect.Field pathField = testingSettings.getDeclaredField("trainedWeightsFilePath");
+            pathField.setAccessible(true);
+            SET_TRAINED_WEIGHTS_FILE_PATH = lookup.unreflectSetter(pathField)
+                .asType(MethodType.methodType(void.class, Object.class, String.class));
+            java.lang.reflect.Field modelField = testingSettings.getDeclaredField("trainedModel");
+            modelField.setAccessible(true);
+            GET_TRAINED_MODEL = lookup.unreflectGetter(modelField)
+                .asType(MethodType.methodType(Object.class, Object.class));
+            PACK_PIXELS = lookup.findStatic(dataSample, "packPixels",
+                MethodType.methodType(long[].class, int[].class));
+        } catch (ReflectiveOperationException e){
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private PerceptronHandles(){
+    }
+
+    // Runs a handle call, rethrowing anything it throws unchecked so benchmark methods stay simple
+    static RuntimeException rethrow(Throwable t){
+        if (t instanceof RuntimeException){
+            return (RuntimeException) t;
+        }
+        if (t instanceof Error){
+            throw (Error) t;
+        }
+        return new RuntimeException(t);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Benchmarks writing a results file with NeuralNet.saveResultsToFile.  The
+ * classifications cycle through the seven labels NeuralNet.Label knows, with
+ * every eighth sample left undecided, and the expected labels come from a
+ * synthetic dataset of the same size.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+package perceptron.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SaveResultsBenchmark {
+    static final int LABELS = 7;
+
+    @Param({"21", "10000"})
+    public int samples;
+
+    private Path dataFile;
+    private Path resultsFile;
+    private List<?> dataset;
+    private int[][] classifications;
+
+    @Setup(Level.Trial)
+    public void setup() throws Throwable{
+        dataFile = SyntheticData.writeDataFile(Files.createTempDirectory("perceptron-bench"), 9, 7, LABELS, samples, 42);
+        dataset = (List<?>) PerceptronHandles.PARSE_DATA_FILE.invokeExact(dataFile.toString());
+        resultsFile = Files.createTempFile("perceptron-results", ".txt");
+        classifications = new int[samples][];
+        for (int n = 0; n < samples; n++){
+            classifications[n] = (n % 8 == 7) ? SyntheticData.outputVector(LABELS, -1) : SyntheticData.outputVector(LABELS, n % LABELS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException{
+        Files.deleteIfExists(resultsFile);
+        Files.deleteIfExists(dataFile);
+        Files.deleteIfExists(dataFile.getParent());
+    }
+
+    @Benchmark
+    public void saveResultsToFile(){
+        try {
+            PerceptronHandles.NEURAL_NET_SAVE_RESULTS.invokeExact(classifications, dataset, resultsFile.toString());
+        } catch (Throwable t){
+            throw PerceptronHandles.rethrow(t);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Synthetic inputs for the benchmarks, written in the same text formats as the
+ * sample data files and trained weights files in proj1.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+package perceptron.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+final class SyntheticData {
+    private SyntheticData(){
+    }
+
+    // Parses a grid size parameter such as "9x7" into {rows, columns}
+    static int[] grid(String gridSize){
+        int x = gridSize.indexOf('x');
+        return new int[]{Integer.parseInt(gridSize.substring(0, x)), Integer.parseInt(gridSize.substring(x + 1))};
+    }
+
+    static int[] randomPixels(SplittableRandom random, int numPixels){
+        int[] pixels = new int[numPixels];
+        for (int i = 0; i < numPixels; i++){
+            pixels[i] = random.nextBoolean() ? 1 : -1;
+        }
+        return pixels;
+    }
+
+    static double[] randomWeights(SplittableRandom random, int count){
+        double[] weights = new double[count];
+        for (int i = 0; i < count; i++){
+            weights[i] = random.nextDouble() - 0.5;
+        }
+        return weights;
+    }
+
+    // One-hot bipolar output vector for the given class
+    static int[] outputVector(int outputs, int label){
+        int[] vector = new int[outputs];
+        for (int k = 0; k < outputs; k++){
+            vector[k] = (k == label) ? 1 : -1;
+        }
+        return vector;
+    }
+
+    // Writes a data file with random pixels and one-hot outputs in the 4 line header format
+    static Path writeDataFile(Path directory, int rows, int columns, int outputs, int samples, long seed) throws IOException{
+        Path file = directory.resolve("data-" + rows + "x" + columns + "-" + outputs + "-" + samples + ".txt");
+        SplittableRandom random = new SplittableRandom(seed);
+        try (BufferedWriter writer = Files.newBufferedWriter(file)){
+            writer.write(rows + "\t// row dimension of input pattern\n");
+            writer.write(columns + "\t// column dimension of input pattern\n");
+            writer.write(outputs + "\t// dimension of output pattern\n");
+            writer.write(samples + "\t// number of training pairs\n");
+            for (int n = 0; n < samples; n++){
+                writer.write("\n");
+                for (int r = 0; r < rows; r++){
+                    for (int c = 0; c < columns; c++){
+                        writer.write(random.nextBoolean() ? " 1" : "-1");
+                        writer.write(c < columns - 1 ? " " : "\n");
+                    }
+                }
+                writer.write("\n");
+                int label = n % outputs;
+                int[] vector = outputVector(outputs, label);
+                for (int k = 0; k < outputs; k++){
+                    writer.write(vector[k] > 0 ? " 1" : "-1");
+                    writer.write(k < outputs - 1 ? " " : "\n");
+                }
+                writer.write((char) ('A' + label % 26) + "1\n");
+            }
+        }
+        return file;
+    }
+
+    // Writes a trained weights file with random weights through NeuralNet.saveWeightsToFile
+    static Path writeWeightsFile(Path directory, int inputs, int outputs, long seed) throws Throwable{
+        Path file = directory.resolve("weights-" + inputs + "-" + outputs + ".txt");
+        SplittableRandom random = new SplittableRandom(seed);
+        double[][] weightMatrix = new double[inputs][];
+        for (int i = 0; i < inputs; i++){
+            weightMatrix[i] = randomWeights(random, outputs);
+        }
+        PerceptronHandles.NEURAL_NET_SAVE_WEIGHTS.invokeExact(weightMatrix, randomWeights(random, outputs), file.toString(), 0.0);
+        return file;
+    }
+}
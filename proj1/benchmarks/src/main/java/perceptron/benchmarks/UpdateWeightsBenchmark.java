@@ -0,0 +1,91 @@
+/*
+ * Benchmarks one perceptron weight update of a single output node, in
+ * NeuralNet's input-major double[][] and FlatNeuralNet's output-major array.
+ * Each call updates the next output node in turn.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+package perceptron.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UpdateWeightsBenchmark {
+    static final double LEARNING_RATE = 0.5;
+    static final double WEIGHT_CHANGE_THRESHOLD = 0.0001;
+
+    @Param({"9x7", "32x32", "64x64"})
+    public String gridSize;
+
+    @Param({"7", "26", "100"})
+    public int outputs;
+
+    private double[][] weightMatrix;
+    private double[] flatWeights;
+    private double[] biasWeights;
+    private double[] weightSums;
+    private int[] inputSignals;
+    private int[] targetOutputs;
+    private int node;
+
+    @Setup
+    public void setup(){
+        int[] grid = SyntheticData.grid(gridSize);
+        int inputs = grid[0] * grid[1];
+        SplittableRandom random = new SplittableRandom(42);
+        weightMatrix = new double[inputs][outputs];
+        flatWeights = new double[inputs * outputs];
+        biasWeights = new double[outputs];
+        weightSums = new double[outputs];
+        inputSignals = SyntheticData.randomPixels(random, inputs);
+        targetOutputs = SyntheticData.outputVector(outputs, 0);
+    }
+
+    private int nextNode(){
+        node = (node + 1 == outputs) ? 0 : node + 1;
+        return node;
+    }
+
+    @Benchmark
+    public boolean neuralNetMatrix(){
+        try {
+            return (boolean) PerceptronHandles.NEURAL_NET_UPDATE_WEIGHTS.invokeExact(weightMatrix, biasWeights, inputSignals,
+                targetOutputs, LEARNING_RATE, nextNode(), WEIGHT_CHANGE_THRESHOLD);
+        } catch (Throwable t){
+            throw PerceptronHandles.rethrow(t);
+        }
+    }
+
+    @Benchmark
+    public boolean flatArray(){
+        try {
+            int outputNode = nextNode();
+            return (boolean) PerceptronHandles.FLAT_UPDATE_WEIGHTS.invokeExact(flatWeights, outputNode * inputSignals.length, biasWeights,
+                weightSums, inputSignals, targetOutputs[outputNode], LEARNING_RATE, outputNode, WEIGHT_CHANGE_THRESHOLD);
+        } catch (Throwable t){
+            throw PerceptronHandles.rethrow(t);
+        }
+    }
+}
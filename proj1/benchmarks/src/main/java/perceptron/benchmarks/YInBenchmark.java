@@ -0,0 +1,109 @@
+/*
+ * Benchmarks computing yIn for every output node of one sample: NeuralNet's
+ * input-major double[][] walk, FlatNeuralNet's contiguous output-major array,
+ * and FlatNeuralNet's packed-pixel path.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+package perceptron.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class YInBenchmark {
+    @Param({"9x7", "32x32", "64x64"})
+    public String gridSize;
+
+    @Param({"7", "26", "100"})
+    public int outputs;
+
+    private double[][] weightMatrix;
+    private double[] flatWeights;
+    private double[] biasWeights;
+    private double[] weightSums;
+    private int[] inputSignals;
+    private long[] packedPixels;
+
+    @Setup
+    public void setup() throws Throwable{
+        int[] grid = SyntheticData.grid(gridSize);
+        int inputs = grid[0] * grid[1];
+        SplittableRandom random = new SplittableRandom(42);
+        weightMatrix = new double[inputs][];
+        flatWeights = new double[inputs * outputs];
+        weightSums = new double[outputs];
+        for (int i = 0; i < inputs; i++){
+            weightMatrix[i] = SyntheticData.randomWeights(random, outputs);
+            for (int j = 0; j < outputs; j++){
+                flatWeights[j * inputs + i] = weightMatrix[i][j];
+                weightSums[j] += weightMatrix[i][j];
+            }
+        }
+        biasWeights = SyntheticData.randomWeights(random, outputs);
+        inputSignals = SyntheticData.randomPixels(random, inputs);
+        packedPixels = (long[]) PerceptronHandles.PACK_PIXELS.invokeExact(inputSignals);
+    }
+
+    @Benchmark
+    public double neuralNetMatrix(){
+        try {
+            double sum = 0.0;
+            for (int node = 0; node < outputs; node++){
+                sum += (double) PerceptronHandles.NEURAL_NET_CALCULATE_Y_IN.invokeExact(weightMatrix, biasWeights, inputSignals, node);
+            }
+            return sum;
+        } catch (Throwable t){
+            throw PerceptronHandles.rethrow(t);
+        }
+    }
+
+    @Benchmark
+    public double flatArray(){
+        try {
+            double sum = 0.0;
+            int inputs = inputSignals.length;
+            for (int node = 0; node < outputs; node++){
+                sum += (double) PerceptronHandles.FLAT_CALCULATE_Y_IN.invokeExact(flatWeights, node * inputs, biasWeights[node], inputSignals);
+            }
+            return sum;
+        } catch (Throwable t){
+            throw PerceptronHandles.rethrow(t);
+        }
+    }
+
+    @Benchmark
+    public double flatPacked(){
+        try {
+            double sum = 0.0;
+            int inputs = inputSignals.length;
+            for (int node = 0; node < outputs; node++){
+                sum += (double) PerceptronHandles.FLAT_CALCULATE_Y_IN_PACKED.invokeExact(flatWeights, node * inputs, biasWeights[node], weightSums[node], packedPixels);
+            }
+            return sum;
+        } catch (Throwable t){
+            throw PerceptronHandles.rethrow(t);
+        }
+    }
+}
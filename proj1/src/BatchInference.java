@@ -0,0 +1,196 @@
+/*
+ * This program implements batch inference as a blocked matrix multiply.
+ * Classifying sample by sample walks the whole weight array once per sample,
+ * so for large images the weights fall out of cache before the next sample
+ * needs them.  Here a block of samples is treated as a matrix X of
+ * BLOCK_SAMPLES rows, and the y in values of the block are X times the
+ * transposed weight matrix.  The inputs are cut into tiles sized so that the
+ * block's slice of X and every node's slice of the weights fit in a 256 KB
+ * L2 cache together; each weight tile is then reused by every sample of the
+ * block while it is still in cache, and four nodes are summed at once so each
+ * input value is loaded once per four multiply-adds.
+ *
+ * Sample blocks are spread over the common fork/join pool, each worker with
+ * its own tile buffers, so the loop itself does not allocate.
+ *
+ * The y in values are summed tile by tile, a different order than
+ * FlatNeuralNet.calculateYIn uses, so a y in within rounding error of theta
+ * may land on the other side of it.  With the usual learning rates the
+ * weights are exact binary fractions and the sums are identical.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+public class BatchInference {
+    static final int BLOCK_SAMPLES = 64;
+    static final int CACHE_BYTES = 256 * 1024;
+
+    private final PerceptronModel model;
+    private final int tileInputs;
+    private final double[] inputs;
+    private final double[] yIn;
+
+    // Constructor, creates the tile buffers of one worker
+    public BatchInference(PerceptronModel model){
+        this.model = model;
+        this.tileInputs = tileInputs(model);
+        this.inputs = new double[BLOCK_SAMPLES * tileInputs];
+        this.yIn = new double[BLOCK_SAMPLES * model.numOutputNodes];
+    }
+
+    public static void classifyAll(PerceptronModel model, List<DataSample> dataset, int[][] yOut){
+    /*
+    Classifies a whole dataset, spreading blocks of samples over the common
+    fork/join pool
+
+    Parameters:
+    - PerceptronModel model: trained model
+    - List<DataSample> dataset: samples to classify, packed or not
+    - int[][] yOut: one row of length numOutputNodes per sample, filled with the net's outputs
+    */
+        int numBlocks = (dataset.size() + BLOCK_SAMPLES - 1) / BLOCK_SAMPLES;
+        int workers = Math.min(numBlocks, ForkJoinPool.getCommonPoolParallelism());
+        if (workers <= 1){
+            new BatchInference(model).classify(dataset, 0, dataset.size(), yOut);
+            return;
+        }
+        // Each worker takes one contiguous run of blocks, so it allocates its buffers once
+        IntStream.range(0, workers).parallel().forEach(worker -> {
+            int firstBlock = (int) ((long) numBlocks * worker / workers);
+            int endBlock = (int) ((long) numBlocks * (worker + 1) / workers);
+            int first = firstBlock * BLOCK_SAMPLES;
+            int end = Math.min(dataset.size(), endBlock * BLOCK_SAMPLES);
+            new BatchInference(model).classify(dataset, first, end - first, yOut);
+        });
+    }
+
+    public void classify(List<DataSample> samples, int first, int count, int[][] yOut){
+    /*
+    Classifies a run of samples on the calling thread, one block at a time
+
+    Parameters:
+    - List<DataSample> samples: samples to classify, packed or not
+    - int first: index of the first sample to classify
+    - int count: number of samples to classify
+    - int[][] yOut: output rows, indexed like the samples
+    */
+        for (int blockStart = first; blockStart < first + count; blockStart += BLOCK_SAMPLES){
+            classifyBlock(samples, blockStart, Math.min(BLOCK_SAMPLES, first + count - blockStart), yOut);
+        }
+    }
+
+    private void classifyBlock(List<DataSample> samples, int first, int count, int[][] yOut){
+        int numOutputNodes = model.numOutputNodes;
+        yInBlock(samples, first, count);
+        for (int s = 0; s < count; s++){
+            int[] row = yOut[first + s];
+            for (int outputNode = 0; outputNode < numOutputNodes; outputNode++){
+                row[outputNode] = NeuralNet.applyActivationFunction(yIn[s * numOutputNodes + outputNode], model.thetaThreshold);
+            }
+        }
+    }
+
+    public double[] yInBlock(List<DataSample> samples, int first, int count){
+    /*
+    Works out the y in values of one block of samples without applying the
+    activation function, for callers that threshold them themselves
+
+    Parameters:
+    - List<DataSample> samples: samples to classify, packed or not
+    - int first: index of the first sample of the block
+    - int count: number of samples, at most BLOCK_SAMPLES
+
+    Return:
+    double array holding numOutputNodes y in values per sample, overwritten by the next block
+    */
+        int numInputNodes = model.numInputNodes;
+        int numOutputNodes = model.numOutputNodes;
+        for (int s = 0; s < count; s++){
+            System.arraycopy(model.biasWeights, 0, yIn, s * numOutputNodes, numOutputNodes);
+        }
+        for (int tileStart = 0; tileStart < numInputNodes; tileStart += tileInputs){
+            int tileLength = Math.min(tileInputs, numInputNodes - tileStart);
+            for (int s = 0; s < count; s++){
+                loadTile(samples.get(first + s), tileStart, tileLength, s * tileInputs);
+            }
+            for (int s = 0; s < count; s++){
+                multiplyTile(tileStart, tileLength, s * tileInputs, s * numOutputNodes);
+            }
+        }
+        return yIn;
+    }
+
+    // Copies one sample's pixels of the tile into its row of the input buffer as -1.0/+1.0
+    private void loadTile(DataSample sample, int tileStart, int tileLength, int row){
+        if (sample.isPacked()){
+            // Tiles start on a multiple of 64, so each packed word fills 64 pixels of the row
+            long[] packedPixels = sample.getPackedPixels();
+            for (int i = 0; i < tileLength; i += 64){
+                long bits = packedPixels[(tileStart + i) >>> 6];
+                int end = Math.min(64, tileLength - i);
+                for (int k = 0; k < end; k++){
+                    inputs[row + i + k] = ((bits >>> k) & 1L) != 0 ? 1.0 : -1.0;
+                }
+            }
+        } else {
+            int[] pixels = sample.getPixelArray();
+            for (int i = 0; i < tileLength; i++){
+                inputs[row + i] = pixels[tileStart + i];
+            }
+        }
+    }
+
+    // Adds one sample's tile to its y in values, four output nodes at a time
+    private void multiplyTile(int tileStart, int tileLength, int row, int yInRow){
+        double[] weights = model.weights;
+        int numInputNodes = model.numInputNodes;
+        int numOutputNodes = model.numOutputNodes;
+        int outputNode = 0;
+        for (; outputNode + 4 <= numOutputNodes; outputNode += 4){
+            int offset0 = outputNode * numInputNodes + tileStart;
+            int offset1 = offset0 + numInputNodes;
+            int offset2 = offset1 + numInputNodes;
+            int offset3 = offset2 + numInputNodes;
+            double sum0 = 0.0;
+            double sum1 = 0.0;
+            double sum2 = 0.0;
+            double sum3 = 0.0;
+            for (int i = 0; i < tileLength; i++){
+                double input = inputs[row + i];
+                sum0 += input * weights[offset0 + i];
+                sum1 += input * weights[offset1 + i];
+                sum2 += input * weights[offset2 + i];
+                sum3 += input * weights[offset3 + i];
+            }
+            yIn[yInRow + outputNode] += sum0;
+            yIn[yInRow + outputNode + 1] += sum1;
+            yIn[yInRow + outputNode + 2] += sum2;
+            yIn[yInRow + outputNode + 3] += sum3;
+        }
+        for (; outputNode < numOutputNodes; outputNode++){
+            int offset = outputNode * numInputNodes + tileStart;
+            double sum = 0.0;
+            for (int i = 0; i < tileLength; i++){
+                sum += inputs[row + i] * weights[offset + i];
+            }
+            yIn[yInRow + outputNode] += sum;
+        }
+    }
+
+    // Inputs per tile, a multiple of 64 so tiles line up with packed words
+    private static int tileInputs(PerceptronModel model){
+        int fit = CACHE_BYTES / Double.BYTES / (BLOCK_SAMPLES + model.numOutputNodes);
+        int tile = Math.max(64, fit & ~63);
+        int roundedInputs = (model.numInputNodes + 63) & ~63;
+        return Math.min(tile, Math.max(64, roundedInputs));
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * This program implements a versioned binary format for trained weights.
+ * Unlike the text format it stores every weight exactly, and it can be read
+ * through a memory mapping without parsing.
+ *
+ * Layout, all values little-endian:
+ *     bytes  0-3   magic "PCPW"
+ *     bytes  4-7   int format version
+ *     bytes  8-11  int number of input nodes
+ *     bytes 12-15  int number of output nodes
+ *     bytes 16-23  double theta threshold
+ *     bytes 24-31  long CRC32 checksum of the rest of the file
+ *     then         numOutputNodes * numInputNodes doubles of node weights,
+ *                  output-major as in PerceptronModel
+ *     then         numOutputNodes doubles of bias weights
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+public class BinaryWeightsFile {
+    static final byte[] MAGIC = {'P', 'C', 'P', 'W'};
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final String EXTENSION = ".bin";
+
+    public static boolean isBinaryWeightsFile(String fileName){
+    /*
+    Checks whether a file starts with the binary weights magic bytes
+
+    Parameters:
+    - String fileName: path of the weights file
+
+    Return:
+    boolean representing if the file is in the binary format
+    */
+        try (InputStream in = Files.newInputStream(Paths.get(fileName))){
+            byte[] start = in.readNBytes(MAGIC.length);
+            for (int i = 0; i < MAGIC.length; i++){
+                if (start.length <= i || start[i] != MAGIC[i]){
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e){
+            return false;
+        }
+    }
+
+    public static void save(PerceptronModel model, String fileName) throws IOException{
+    /*
+    Saves a model in the binary weights format
+
+    Parameters:
+    - PerceptronModel model: model to save
+    - String fileName: path of the output file
+    */
+        int numWeights = model.numInputNodes * model.numOutputNodes;
+        ByteBuffer payload = ByteBuffer.allocate((numWeights + model.numOutputNodes) * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        payload.asDoubleBuffer().put(model.weights).put(model.biasWeights);
+
+        CRC32 checksum = new CRC32();
+        checksum.update(payload.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(MAGIC);
+        header.putInt(VERSION);
+        header.putInt(model.numInputNodes);
+        header.putInt(model.numOutputNodes);
+        header.putDouble(model.thetaThreshold);
+        header.putLong(checksum.getValue());
+        header.flip();
+
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)){
+            ByteBuffer[] buffers = {header, payload};
+            while (header.hasRemaining() || payload.hasRemaining()){
+                channel.write(buffers);
+            }
+        }
+    }
+
+    public static MappedWeights map(String fileName) throws IOException{
+    /*
+    Maps a binary weights file and checks its header and checksum.  The weights
+    are read in place from the mapping, nothing is copied onto the heap.
+
+    Parameters:
+    - String fileName: path of the weights file
+
+    Return:
+    MappedWeights giving read access to the header values and weights
+    */
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)){
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        if (mapped.limit() < HEADER_SIZE){
+            throw new DatasetFormatException(fileName, 1, "binary weights file is shorter than its header");
+        }
+        for (int i = 0; i < MAGIC.length; i++){
+            if (mapped.get(i) != MAGIC[i]){
+                throw new DatasetFormatException(fileName, 1, "not a binary weights file");
+            }
+        }
+        int version = mapped.getInt(4);
+        if (version != VERSION){
+            throw new DatasetFormatException(fileName, 1, "unsupported binary weights version " + version);
+        }
+
+        MappedWeights weights = new MappedWeights();
+        weights.numInputNodes = mapped.getInt(8);
+        weights.numOutputNodes = mapped.getInt(12);
+        weights.thetaThreshold = mapped.getDouble(16);
+        long expectedChecksum = mapped.getLong(24);
+
+        long numWeights = (long) weights.numInputNodes * weights.numOutputNodes;
+        long expectedSize = HEADER_SIZE + (numWeights + weights.numOutputNodes) * Double.BYTES;
+        if (weights.numInputNodes < 0 || weights.numOutputNodes < 0 || mapped.limit() != expectedSize){
+            throw new DatasetFormatException(fileName, 1, "binary weights file size does not match its header");
+        }
+
+        ByteBuffer payload = mapped.slice(HEADER_SIZE, mapped.limit() - HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        CRC32 checksum = new CRC32();
+        checksum.update(payload.duplicate());
+        if (checksum.getValue() != expectedChecksum){
+            throw new DatasetFormatException(fileName, 1, "binary weights checksum mismatch");
+        }
+
+        DoubleBuffer values = payload.asDoubleBuffer();
+        weights.weights = values.slice(0, (int) numWeights);
+        weights.biasWeights = values.slice((int) numWeights, weights.numOutputNodes);
+        return weights;
+    }
+
+    public static PerceptronModel load(String fileName) throws IOException{
+    /*
+    Loads a binary weights file into a model with one bulk copy per array
+
+    Parameters:
+    - String fileName: path of the weights file
+
+    Return:
+    PerceptronModel holding the exact saved weights
+    */
+        MappedWeights mapped = map(fileName);
+        PerceptronModel model = new PerceptronModel(mapped.numInputNodes, mapped.numOutputNodes, mapped.thetaThreshold);
+        mapped.weights.duplicate().get(model.weights);
+        mapped.biasWeights.duplicate().get(model.biasWeights);
+        model.computeWeightSums();
+        return model;
+    }
+
+    // Data structure giving read access to a mapped binary weights file
+    public static class MappedWeights {
+        int numInputNodes;
+        int numOutputNodes;
+        double thetaThreshold;
+        DoubleBuffer weights;
+        DoubleBuffer biasWeights;
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * This program implements a long-running classification server.  It loads one
+ * or more trained weights files once and answers classification requests over a
+ * local TCP port or Unix domain socket.  Requests from all connections are put
+ * on one queue and scored in micro-batches by a single scoring thread.  Each
+ * batch is grouped by model and each group goes through BatchInference in
+ * blocks, so a model's weight tiles are read once per block of requests
+ * instead of once per request.
+ *
+ * Usage:
+ *     ClassificationServer <port | unix:/path/to/socket> <name>:<weights file> ... [batch=64] [delayMicros=200]
+ *
+ * Protocol, one line per request and one line per response:
+ *     CLASSIFY <model name> <pattern>   pattern holds one '+' or '-' per pixel, row by row
+ *         -> OK <label> <output vector>  label is Undecided if the outputs match no label
+ *     STATS
+ *         -> OK requests=... batches=... avgBatch=... count=... p50=...us p90=...us p99=...us p999=...us max=...us
+ *     anything else, or a bad request
+ *         -> ERR <message>
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ClassificationServer {
+    private final Map<String, PerceptronModel> models;
+    private final int maxBatchSize;
+    private final long maxBatchDelayNanos;
+    private final LinkedBlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    private final LatencyRecorder latencies = new LatencyRecorder(1 << 16);
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private final ExecutorService connectionPool = Executors.newCachedThreadPool();
+    // Tile buffers of each model, used only by the scoring thread
+    private final Map<PerceptronModel, BatchInference> inferences = new HashMap<>();
+    private volatile boolean running = true;
+    private ServerSocketChannel serverChannel;
+
+    // Constructor
+    public ClassificationServer(Map<String, PerceptronModel> models, int maxBatchSize, long maxBatchDelayMicros){
+        this.models = models;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchDelayNanos = TimeUnit.MICROSECONDS.toNanos(maxBatchDelayMicros);
+    }
+
+    public static void main(String[] args){
+        String usage = "Usage: ClassificationServer <port | unix:/path/to/socket> <name>:<weights file> ... [batch=64] [delayMicros=200]";
+        if (args.length < 2){
+            System.out.println(usage);
+            return;
+        }
+        int maxBatchSize;
+        long maxBatchDelayMicros;
+        List<String> modelArguments;
+        try {
+            parseAddress(args[0]);
+            CommandLineOptions options = CommandLineOptions.parse(args, 1, true, "batch", "delayMicros");
+            maxBatchSize = options.getInt("batch", 64);
+            maxBatchDelayMicros = options.getLong("delayMicros", 200);
+            if (maxBatchSize < 1 || maxBatchDelayMicros < 0){
+                throw new IllegalArgumentException("batch must be at least 1 and delayMicros at least 0");
+            }
+            modelArguments = options.getPositionalArguments();
+            if (modelArguments.isEmpty()){
+                throw new IllegalArgumentException("No models given");
+            }
+            for (String modelArgument : modelArguments){
+                if (modelArgument.indexOf(':') <= 0){
+                    throw new IllegalArgumentException("Expected <name>:<weights file> but found " + modelArgument);
+                }
+            }
+        } catch (IllegalArgumentException e){
+            System.out.println(e.getMessage());
+            System.out.println(usage);
+            return;
+        }
+        Map<String, PerceptronModel> models = new HashMap<>();
+        for (String modelArgument : modelArguments){
+            int colonIndex = modelArgument.indexOf(':');
+            try {
+                models.put(modelArgument.substring(0, colonIndex), PerceptronModel.load(modelArgument.substring(colonIndex + 1)));
+            } catch (IOException e){
+                System.out.println("Error reading file: " + e.getMessage());
+                return;
+            }
+        }
+        try {
+            ClassificationServer server = new ClassificationServer(models, maxBatchSize, maxBatchDelayMicros);
+            server.start(args[0]);
+            System.out.println("Serving " + models.keySet() + " on " + args[0]);
+        } catch (IOException e){
+            System.out.println("Could not start server: " + e.getMessage());
+        }
+    }
+
+    static SocketAddress parseAddress(String address){
+    /*
+    Parses a server address
+
+    Parameters:
+    - String address: a TCP port on the loopback interface, or unix: followed by a socket path
+
+    Return:
+    SocketAddress of the server
+
+    Throws:
+    - IllegalArgumentException if the address is neither
+    */
+        if (address.startsWith("unix:")){
+            return UnixDomainSocketAddress.of(address.substring("unix:".length()));
+        }
+        try {
+            return new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(address));
+        } catch (IllegalArgumentException e){
+            throw new IllegalArgumentException("Invalid address " + address + ", expected a port between 0 and 65535 or unix:<socket path>");
+        }
+    }
+
+    public void start(String address) throws IOException{
+    /*
+    Binds the server socket and starts the accept and scoring threads
+
+    Parameters:
+    - String address: a TCP port on the loopback interface, or unix: followed by a socket path
+    */
+        SocketAddress socketAddress = parseAddress(address);
+        if (socketAddress instanceof UnixDomainSocketAddress){
+            Files.deleteIfExists(((UnixDomainSocketAddress) socketAddress).getPath());
+            serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        } else {
+            serverChannel = ServerSocketChannel.open();
+        }
+        serverChannel.bind(socketAddress);
+
+        Thread scorer = new Thread(this::scoreBatches, "classification-scorer");
+        scorer.setDaemon(true);
+        scorer.start();
+        Thread acceptor = new Thread(this::acceptConnections, "classification-acceptor");
+        acceptor.start();
+    }
+
+    public void stop() throws IOException{
+    /*
+    Stops accepting connections and closes the server socket
+    */
+        running = false;
+        SocketAddress address = serverChannel.getLocalAddress();
+        serverChannel.close();
+        connectionPool.shutdownNow();
+        if (address instanceof UnixDomainSocketAddress){
+            Files.deleteIfExists(((UnixDomainSocketAddress) address).getPath());
+        }
+    }
+
+    private void acceptConnections(){
+        while (running){
+            try {
+                SocketChannel connection = serverChannel.accept();
+                connectionPool.execute(() -> handleConnection(connection));
+            } catch (IOException e){
+                if (running){
+                    System.out.println("Error accepting connection: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void handleConnection(SocketChannel connection){
+        try (SocketChannel channel = connection;
+                BufferedReader reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.US_ASCII));
+                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.US_ASCII))){
+            String line;
+            while ((line = reader.readLine()) != null){
+                writer.write(handleRequest(line));
+                writer.newLine();
+                writer.flush();
+            }
+        } catch (IOException e){
+            // Client went away
+        }
+    }
+
+    String handleRequest(String line){
+    /*
+    Answers one request line
+
+    Parameters:
+    - String line: request line
+
+    Return:
+    String response line without the line break
+    */
+        if (line.equals("STATS")){
+            long batchCount = batches.get();
+            long requestCount = requests.get();
+            String average = batchCount == 0 ? "0" : String.format("%.2f", (double) requestCount / batchCount);
+            return "OK requests=" + requestCount + " batches=" + batchCount + " avgBatch=" + average + " " + latencies.summary();
+        }
+        if (!line.startsWith("CLASSIFY ")){
+            return "ERR unknown request";
+        }
+        long start = System.nanoTime();
+        int modelEnd = line.indexOf(' ', "CLASSIFY ".length());
+        if (modelEnd < 0){
+            return "ERR expected CLASSIFY <model name> <pattern>";
+        }
+        PerceptronModel model = models.get(line.substring("CLASSIFY ".length(), modelEnd));
+        if (model == null){
+            return "ERR unknown model";
+        }
+        String pattern = line.substring(modelEnd + 1).trim();
+        if (pattern.length() != model.numInputNodes){
+            return "ERR pattern has " + pattern.length() + " pixels but the model expects " + model.numInputNodes;
+        }
+        long[] packedPixels = new long[(model.numInputNodes + 63) >>> 6];
+        for (int i = 0; i < pattern.length(); i++){
+            char pixel = pattern.charAt(i);
+            if (pixel == '+'){
+                packedPixels[i >>> 6] |= 1L << i;
+            } else if (pixel != '-'){
+                return "ERR pattern may only hold '+' and '-'";
+            }
+        }
+
+        DataSample sample = new DataSample(1, model.numInputNodes, model.numOutputNodes);
+        sample.setPackedPixels(packedPixels);
+        Request request = new Request(model, sample);
+        queue.add(request);
+        try {
+            int[] yOut = request.result.get();
+            latencies.record(System.nanoTime() - start);
+            NeuralNet.Label label = NeuralNet.Label.getLabel(yOut);
+            return "OK " + (label == null ? "Undecided" : label.name()) + " " + NeuralNet.Label.arrayToString(yOut).trim();
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            return "ERR interrupted";
+        } catch (ExecutionException e){
+            return "ERR " + e.getCause().getMessage();
+        }
+    }
+
+    // Collects queued requests into batches of up to maxBatchSize, waiting at most maxBatchDelayNanos to fill one
+    private void scoreBatches(){
+        List<Request> batch = new ArrayList<>(maxBatchSize);
+        while (true){
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + maxBatchDelayNanos;
+                while (batch.size() < maxBatchSize){
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0){
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0){
+                        break;
+                    }
+                    Request next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null){
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e){
+                return;
+            }
+            scoreBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void scoreBatch(List<Request> batch){
+        // Groups the batch by model, then scores each group a block at a time through the model's BatchInference
+        List<Request> group = new ArrayList<>(batch.size());
+        List<DataSample> samples = new ArrayList<>(batch.size());
+        for (int first = 0; first < batch.size(); first++){
+            if (batch.get(first).result.isDone()){
+                continue;
+            }
+            PerceptronModel model = batch.get(first).model;
+            group.clear();
+            samples.clear();
+            for (int n = first; n < batch.size(); n++){
+                Request request = batch.get(n);
+                if (request.model == model && !request.result.isDone()){
+                    group.add(request);
+                    samples.add(request.sample);
+                }
+            }
+            BatchInference inference = inferences.computeIfAbsent(model, BatchInference::new);
+            int numOutputNodes = model.numOutputNodes;
+            for (int blockStart = 0; blockStart < group.size(); blockStart += BatchInference.BLOCK_SAMPLES){
+                int count = Math.min(BatchInference.BLOCK_SAMPLES, group.size() - blockStart);
+                double[] yIn = inference.yInBlock(samples, blockStart, count);
+                for (int s = 0; s < count; s++){
+                    int[] yOut = new int[numOutputNodes];
+                    for (int outputNode = 0; outputNode < numOutputNodes; outputNode++){
+                        yOut[outputNode] = NeuralNet.applyActivationFunction(yIn[s * numOutputNodes + outputNode], model.thetaThreshold);
+                    }
+                    group.get(blockStart + s).result.complete(yOut);
+                }
+            }
+        }
+        batches.incrementAndGet();
+        requests.addAndGet(batch.size());
+    }
+
+    // One queued classification request
+    private static class Request {
+        final PerceptronModel model;
+        final DataSample sample;
+        final CompletableFuture<int[]> result = new CompletableFuture<>();
+
+        Request(PerceptronModel model, DataSample sample){
+            this.model = model;
+            this.sample = sample;
+        }
+    }
+}
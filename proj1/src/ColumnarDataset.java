@@ -0,0 +1,129 @@
+/*
+ * This program implements an off-heap, column-by-column store for datasets too
+ * large to hold as DataSample objects.  It maps the compiled form of a data
+ * file (see DatasetCache), which already keeps every sample's packed pixels in
+ * one column, the packed targets in a second and the labels in a third, and
+ * reads samples straight out of the mapping.  The samples live in the page
+ * cache instead of on the heap, so heap use does not grow with the dataset.
+ *
+ * Samples are read into a view: one DataSample, made by newView, whose pixel
+ * and target arrays are overwritten in place by each call to get.  Training
+ * and testing reuse one view for every sample, so walking the dataset creates
+ * no objects, and every packed path that takes a DataSample works on a view.
+ * A view holds one sample at a time; keep one view per thread.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+
+public class ColumnarDataset {
+    private final String fileName;
+    private final MappedByteBuffer mapped;
+    private final LongBuffer pixelColumn;
+    private final LongBuffer targetColumn;
+    private final int labelStart;
+    private final int rows;
+    private final int columns;
+    private final int outputDimension;
+    private final int numSamples;
+    private final int pixelWords;
+    private final int targetWords;
+
+    // Constructor, maps a compiled dataset
+    private ColumnarDataset(String compiledFileName) throws IOException{
+        this.fileName = compiledFileName;
+        this.mapped = DatasetCache.mapChecked(compiledFileName);
+        this.rows = mapped.getInt(24);
+        this.columns = mapped.getInt(28);
+        this.outputDimension = mapped.getInt(32);
+        this.numSamples = mapped.getInt(36);
+        this.pixelWords = DatasetCache.wordsFor(rows * columns);
+        this.targetWords = DatasetCache.wordsFor(outputDimension);
+
+        int pixelBytes = numSamples * pixelWords * Long.BYTES;
+        int targetBytes = numSamples * targetWords * Long.BYTES;
+        this.pixelColumn = mapped.slice(DatasetCache.HEADER_SIZE, pixelBytes).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+        this.targetColumn = mapped.slice(DatasetCache.HEADER_SIZE + pixelBytes, targetBytes).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+        this.labelStart = DatasetCache.HEADER_SIZE + pixelBytes + targetBytes;
+    }
+
+    public static ColumnarDataset open(String dataFileName) throws IOException{
+    /*
+    Opens a data file as a columnar dataset, compiling it first if its compiled
+    form is missing or out of date
+
+    Parameters:
+    - String dataFileName: File name of data file, or of a compiled dataset
+
+    Return:
+    ColumnarDataset reading from the compiled dataset
+    */
+        return new ColumnarDataset(DatasetCache.compiledFileFor(dataFileName));
+    }
+
+    public DataSample newView(){
+    /*
+    Creates a view to read samples into
+
+    Return:
+    DataSample with packed pixel and target arrays sized for this dataset
+    */
+        DataSample view = FileParser.createDataSample(rows, columns, outputDimension);
+        view.setPackedPixels(new long[pixelWords]);
+        view.setOutputVector(new int[outputDimension]);
+        return view;
+    }
+
+    public DataSample get(int sampleNum, DataSample view){
+    /*
+    Reads one sample into a view, overwriting the sample it held
+
+    Parameters:
+    - int sampleNum: index of the sample, starting at 0
+    - DataSample view: view made by newView
+
+    Return:
+    DataSample the view, now holding the sample
+    */
+        pixelColumn.get(sampleNum * pixelWords, view.getPackedPixels());
+        int[] outputVector = view.getOutputVector();
+        for (int word = 0; word < targetWords; word++){
+            long bits = targetColumn.get(sampleNum * targetWords + word);
+            int end = Math.min(outputDimension, (word + 1) << 6);
+            for (int k = word << 6; k < end; k++){
+                outputVector[k] = ((bits >>> k) & 1L) != 0 ? 1 : -1;
+            }
+        }
+        view.setLabel(mapped.getChar(labelStart + sampleNum * Character.BYTES));
+        return view;
+    }
+
+    public int size(){
+        return numSamples;
+    }
+
+    public int getRowDimension(){
+        return rows;
+    }
+
+    public int getColumnDimension(){
+        return columns;
+    }
+
+    public int getOutputDimension(){
+        return outputDimension;
+    }
+
+    public String getFileName(){
+        return fileName;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * This program implements the option parsing shared by the command line
+ * tools.  Options come after the tool's fixed arguments as "name=value"
+ * arguments, in any order:
+ *     CrossValidation proj1/data.txt folds=10 seed=7
+ * Each tool names the options it knows, and an unknown option or a value of
+ * the wrong type is an IllegalArgumentException whose message names the
+ * argument, which the tool prints with its usage line.  Enum values such as
+ * vote=sum or format=CSV are accepted in any case.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class CommandLineOptions {
+    private final Map<String, String> values = new HashMap<>();
+    private final List<String> positionalArguments = new ArrayList<>();
+
+    public static CommandLineOptions parse(String[] args, int first, boolean acceptPositional, String... names){
+    /*
+    Parses the name=value options of a command line
+
+    Parameters:
+    - String[] args: command line arguments
+    - int first: index of the first argument that may be an option
+    - boolean acceptPositional: whether arguments without '=' are kept as positional arguments
+    - String... names: names of the options the tool knows
+
+    Return:
+    CommandLineOptions holding the values given on the command line
+    */
+        List<String> known = Arrays.asList(names);
+        CommandLineOptions options = new CommandLineOptions();
+        for (int i = first; i < args.length; i++){
+            int equalsIndex = args[i].indexOf('=');
+            if (equalsIndex < 0 && acceptPositional){
+                options.positionalArguments.add(args[i]);
+                continue;
+            }
+            String name = equalsIndex < 0 ? args[i] : args[i].substring(0, equalsIndex);
+            if (!known.contains(name)){
+                throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+            options.values.put(name, equalsIndex < 0 ? "" : args[i].substring(equalsIndex + 1));
+        }
+        return options;
+    }
+
+    public List<String> getPositionalArguments(){
+        return positionalArguments;
+    }
+
+    public String getString(String name, String defaultValue){
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    public int getInt(String name, int defaultValue){
+        String value = values.get(name);
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e){
+            throw invalid(name, value, "a whole number");
+        }
+    }
+
+    public long getLong(String name, long defaultValue){
+        String value = values.get(name);
+        try {
+            return value == null ? defaultValue : Long.parseLong(value.trim());
+        } catch (NumberFormatException e){
+            throw invalid(name, value, "a whole number");
+        }
+    }
+
+    public double getDouble(String name, double defaultValue){
+        String value = values.get(name);
+        try {
+            return value == null ? defaultValue : Double.parseDouble(value.trim());
+        } catch (NumberFormatException e){
+            throw invalid(name, value, "a number");
+        }
+    }
+
+    public boolean getBoolean(String name, boolean defaultValue){
+        String value = values.get(name);
+        return value == null ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    public <E extends Enum<E>> E getEnum(String name, Class<E> type, E defaultValue){
+        String value = values.get(name);
+        try {
+            return value == null ? defaultValue : parseEnum(type, value);
+        } catch (IllegalArgumentException e){
+            throw new IllegalArgumentException("Invalid option " + name + "=" + value + ": " + e.getMessage());
+        }
+    }
+
+    public static <E extends Enum<E>> E parseEnum(Class<E> type, String name){
+    /*
+    Looks up an enum constant by name in any case, such as sum or MAJORITY
+
+    Parameters:
+    - Class<E> type: enum to look the name up in
+    - String name: name of the constant
+
+    Return:
+    E constant with the name
+    */
+        String constantName = name.trim().toUpperCase(Locale.ROOT);
+        for (E constant : type.getEnumConstants()){
+            if (constant.name().equals(constantName)){
+                return constant;
+            }
+        }
+        StringBuilder expected = new StringBuilder();
+        E[] constants = type.getEnumConstants();
+        for (int i = 0; i < constants.length; i++){
+            if (i > 0){
+                expected.append(i == constants.length - 1 ? " or " : ", ");
+            }
+            expected.append(constants[i].name().toLowerCase(Locale.ROOT));
+        }
+        throw new IllegalArgumentException("unknown " + type.getSimpleName().toLowerCase(Locale.ROOT) + " " + name + ", expected " + expected);
+    }
+
+    private static IllegalArgumentException invalid(String name, String value, String expected){
+        return new IllegalArgumentException("Invalid option " + name + "=" + value + ", expected " + expected);
+    }
+}
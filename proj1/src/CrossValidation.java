@@ -0,0 +1,275 @@
+/*
+ * This program implements k-fold cross-validation, an estimate of how well a
+ * net trained on a dataset classifies samples it was not trained on.  The
+ * samples are dealt into k folds stratified by label, so every fold holds
+ * about the same share of each letter.  Fold f's net is trained on the other
+ * k - 1 folds and tested on fold f, and the k nets are trained at the same
+ * time on a thread pool, so k folds on k cores take about as long as one
+ * training run.  Folds are DatasetSubset views of the one parsed dataset,
+ * which hold sample indexes only and never copy a sample.
+ *
+ * Usage:
+ *     CrossValidation <data file> [folds=5] [learningRate=1.0] [thetaThreshold=0.0] [weightChangeThreshold=0.001]
+ *                     [maxEpochs=1000] [zeroWeights=true] [seed=42] [threads=<n>]
+ * The seed decides which samples of each label go to which fold.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class CrossValidation {
+    public static void main(String[] args){
+        String usage = "Usage: CrossValidation <data file> [folds=5] [learningRate=1.0] [thetaThreshold=0.0] [weightChangeThreshold=0.001]"
+            + " [maxEpochs=1000] [zeroWeights=true] [seed=42] [threads=<n>]";
+        if (args.length < 1){
+            System.out.println(usage);
+            return;
+        }
+        TrainingSettings settings = new TrainingSettings();
+        settings.trainingDataFilePath = args[0];
+        int folds;
+        long seed;
+        int threads;
+        try {
+            CommandLineOptions options = CommandLineOptions.parse(args, 1, false, "folds", "learningRate", "thetaThreshold",
+                "weightChangeThreshold", "maxEpochs", "zeroWeights", "seed", "threads");
+            folds = options.getInt("folds", 5);
+            settings.learningRate = options.getDouble("learningRate", 1.0);
+            settings.thetaThreshold = options.getDouble("thetaThreshold", 0.0);
+            settings.weightChangeThreshold = options.getDouble("weightChangeThreshold", 0.001);
+            settings.maxEpochs = options.getInt("maxEpochs", 1000);
+            settings.setWeightsToZero = options.getBoolean("zeroWeights", true);
+            seed = options.getLong("seed", 42);
+            threads = options.getInt("threads", Runtime.getRuntime().availableProcessors());
+        } catch (IllegalArgumentException e){
+            System.out.println(e.getMessage());
+            System.out.println(usage);
+            return;
+        }
+
+        try {
+            List<DataSample> dataset = DatasetCache.load(args[0], true);
+            if (folds < 2 || folds > dataset.size()){
+                System.out.println("folds must be between 2 and the number of samples, " + dataset.size());
+                return;
+            }
+            System.out.println("Cross-validating " + dataset.size() + " samples in " + folds + " folds on " + threads + " threads");
+            long start = System.nanoTime();
+            List<FoldResult> results = run(dataset, settings, stratifiedFolds(dataset, folds, seed), threads);
+            double wallMillis = (System.nanoTime() - start) / 1_000_000.0;
+            printResults(results, wallMillis);
+        } catch (IOException e){
+            System.out.println("Error running cross-validation: " + e.getMessage());
+        }
+    }
+
+    public static int[] stratifiedFolds(List<DataSample> dataset, int folds, long seed){
+    /*
+    Deals the samples of a dataset into folds, shuffling the samples of each
+    label and then handing them out in turn, so each fold gets an equal share
+    of every label (within one sample)
+
+    Parameters:
+    - List<DataSample> dataset: samples to split
+    - int folds: number of folds
+    - long seed: seed of the shuffle
+
+    Return:
+    int array holding the fold of each sample, indexed like the dataset
+    */
+        // Groups the sample indexes by label with a counting sort, labels in order of first appearance
+        Map<Character, Integer> labelIds = new LinkedHashMap<>();
+        int[] sampleLabels = new int[dataset.size()];
+        List<Integer> counts = new ArrayList<>();
+        for (int n = 0; n < dataset.size(); n++){
+            Integer labelId = labelIds.get(dataset.get(n).getLabel());
+            if (labelId == null){
+                labelId = labelIds.size();
+                labelIds.put(dataset.get(n).getLabel(), labelId);
+                counts.add(0);
+            }
+            sampleLabels[n] = labelId;
+            counts.set(labelId, counts.get(labelId) + 1);
+        }
+        int[] groupStarts = new int[counts.size() + 1];
+        for (int label = 0; label < counts.size(); label++){
+            groupStarts[label + 1] = groupStarts[label] + counts.get(label);
+        }
+        int[] grouped = new int[dataset.size()];
+        int[] next = groupStarts.clone();
+        for (int n = 0; n < dataset.size(); n++){
+            grouped[next[sampleLabels[n]]++] = n;
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] foldOf = new int[dataset.size()];
+        int fold = 0;
+        for (int label = 0; label < counts.size(); label++){
+            // Shuffles the label's group, then carries on dealing from the fold the last label stopped at
+            for (int i = groupStarts[label + 1] - 1; i > groupStarts[label]; i--){
+                int j = groupStarts[label] + random.nextInt(i - groupStarts[label] + 1);
+                int swap = grouped[i];
+                grouped[i] = grouped[j];
+                grouped[j] = swap;
+            }
+            for (int i = groupStarts[label]; i < groupStarts[label + 1]; i++){
+                foldOf[grouped[i]] = fold;
+                fold = (fold + 1) % folds;
+            }
+        }
+        return foldOf;
+    }
+
+    public static List<FoldResult> run(List<DataSample> dataset, TrainingSettings settings, int[] foldOf, int threads) throws IOException{
+    /*
+    Trains and tests one net per fold on a fixed size thread pool.  The
+    settings and the dataset are only read, so every fold shares them.
+
+    Parameters:
+    - List<DataSample> dataset: samples to cross-validate on
+    - TrainingSettings settings: learning rate, theta, thresholds, max epochs and weight initialization
+    - int[] foldOf: fold of each sample, as made by stratifiedFolds
+    - int threads: number of worker threads
+
+    Return:
+    List of FoldResults in fold order
+    */
+        int folds = 0;
+        for (int fold : foldOf){
+            folds = Math.max(folds, fold + 1);
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, folds)));
+        try {
+            List<Future<FoldResult>> futures = new ArrayList<>();
+            for (int fold = 0; fold < folds; fold++){
+                int testFold = fold;
+                futures.add(pool.submit(() -> runFold(dataset, settings, foldOf, testFold)));
+            }
+            List<FoldResult> results = new ArrayList<>();
+            for (Future<FoldResult> future : futures){
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IOException("cross-validation interrupted", e);
+        } catch (ExecutionException e){
+            throw new IOException("fold failed: " + e.getCause(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    public static FoldResult runFold(List<DataSample> dataset, TrainingSettings settings, int[] foldOf, int testFold){
+    /*
+    Trains a net on every fold but one and tests it on that fold
+
+    Parameters:
+    - List<DataSample> dataset: samples to cross-validate on
+    - TrainingSettings settings: training settings, only read
+    - int[] foldOf: fold of each sample
+    - int testFold: fold to hold out for testing
+
+    Return:
+    FoldResult for the fold
+    */
+        long start = System.nanoTime();
+        int testSize = 0;
+        for (int fold : foldOf){
+            if (fold == testFold){
+                testSize++;
+            }
+        }
+        int[] trainIndexes = new int[foldOf.length - testSize];
+        int[] testIndexes = new int[testSize];
+        int trainCount = 0;
+        int testCount = 0;
+        for (int n = 0; n < foldOf.length; n++){
+            if (foldOf[n] == testFold){
+                testIndexes[testCount++] = n;
+            } else {
+                trainIndexes[trainCount++] = n;
+            }
+        }
+        DatasetSubset trainingSet = new DatasetSubset(dataset, trainIndexes);
+        DatasetSubset testingSet = new DatasetSubset(dataset, testIndexes);
+
+        PerceptronModel model = FlatNeuralNet.createModel(dataset.get(0), settings);
+        FoldResult result = new FoldResult();
+        result.fold = testFold + 1;
+        result.trainSamples = trainingSet.size();
+        result.testSamples = testingSet.size();
+        result.epochs = FlatNeuralNet.trainModel(model, trainingSet, settings);
+        result.trainMillis = (System.nanoTime() - start) / 1_000_000.0;
+        result.trainingAccuracy = FlatNeuralNet.accuracy(model, trainingSet);
+        result.accuracy = FlatNeuralNet.accuracy(model, testingSet);
+        result.wallMillis = (System.nanoTime() - start) / 1_000_000.0;
+        return result;
+    }
+
+    public static void printResults(List<FoldResult> results, double wallMillis){
+    /*
+    Prints one line per fold, then the mean and spread of the test accuracy,
+    the accuracy over every held-out sample, and how much faster the folds ran
+    together than they would have one after another
+
+    Parameters:
+    - List<FoldResult> results: results of every fold
+    - double wallMillis: wall time of the whole run
+    */
+        System.out.println(String.format("%-5s %-8s %-8s %-7s %-10s %-10s %-10s", "fold", "train", "test", "epochs", "train acc", "test acc", "ms"));
+        double sum = 0.0;
+        double sumOfSquares = 0.0;
+        double min = Double.MAX_VALUE;
+        double max = -Double.MAX_VALUE;
+        double correct = 0.0;
+        int samples = 0;
+        double foldMillis = 0.0;
+        for (FoldResult result : results){
+            System.out.println(String.format("%-5d %-8d %-8d %-7d %-10.4f %-10.4f %-10.2f", result.fold, result.trainSamples,
+                result.testSamples, result.epochs, result.trainingAccuracy, result.accuracy, result.wallMillis));
+            sum += result.accuracy;
+            sumOfSquares += result.accuracy * result.accuracy;
+            min = Math.min(min, result.accuracy);
+            max = Math.max(max, result.accuracy);
+            correct += result.accuracy * result.testSamples;
+            samples += result.testSamples;
+            foldMillis += result.wallMillis;
+        }
+        int folds = results.size();
+        double mean = sum / folds;
+        // Sample standard deviation of the fold accuracies
+        double spread = folds < 2 ? 0.0 : Math.sqrt(Math.max(0.0, (sumOfSquares - folds * mean * mean) / (folds - 1)));
+        System.out.println(String.format("Mean test accuracy %.4f +/- %.4f (min %.4f, max %.4f), %.4f over all %d held-out samples",
+            mean, spread, min, max, correct / samples, samples));
+        System.out.println(String.format("Cross-validation finished in %.0f ms, %.0f ms of fold time (%.2fx)",
+            wallMillis, foldMillis, foldMillis / wallMillis));
+    }
+
+    // Data structure to hold the outcome of one fold
+    public static class FoldResult {
+        int fold;
+        int trainSamples;
+        int testSamples;
+        int epochs;
+        double trainingAccuracy;
+        double accuracy;
+        double trainMillis;
+        double wallMillis;
+    }
+}
@@ -6,7 +6,7 @@
  * - David Kujawinski
  * - Dinh Troung
  * 
- * Date Last Modified: 3/7/2025
+ * Date Last Modified: 10/17/2026
  */
 
 public class DataSample {
@@ -16,6 +16,7 @@ public class DataSample {
     private int outputDimension;
     private char label;
     private int[] pixelArray;
+    private long[] packedPixels;
     private int[] outputVector;
 
     // Constructor
@@ -31,9 +32,21 @@ public class DataSample {
     }
 
     public int[] getPixelArray(){
+        // Packed samples are expanded on request, callers on hot paths should use getPackedPixels
+        if (pixelArray == null && packedPixels != null){
+            return unpackPixels(packedPixels, rowDimension * columnDimension);
+        }
         return pixelArray;
     }
 
+    public long[] getPackedPixels(){
+        return packedPixels;
+    }
+
+    public boolean isPacked(){
+        return packedPixels != null;
+    }
+
     public int getRowDimension(){
         return rowDimension;
     }
@@ -53,6 +66,12 @@ public class DataSample {
     // Setters
     public void setPixelArray(int[] pixelArray){
         this.pixelArray = pixelArray;
+        this.packedPixels = null;
+    }
+
+    public void setPackedPixels(long[] packedPixels){
+        this.packedPixels = packedPixels;
+        this.pixelArray = null;
     }
     
     public void setOutputVector(int[] outputVector){
@@ -62,4 +81,52 @@ public class DataSample {
     public void setLabel(char letter){
         this.label = letter;
     }
+
+    /*
+    Replaces the int pixel array with a bitset holding one bit per pixel,
+    set for +1 and clear for -1.  Does nothing if the sample is already packed.
+    */
+    public void pack(){
+        if (pixelArray != null){
+            setPackedPixels(packPixels(pixelArray));
+        }
+    }
+
+    /*
+    Packs a bipolar pixel array into a bitset where pixel i is bit (i % 64)
+    of word (i / 64).
+
+    Parameters:
+    - int[] pixels: array of -1/+1 pixel values
+
+    Return:
+    - long[] holding the packed pixels
+    */
+    public static long[] packPixels(int[] pixels){
+        long[] packed = new long[(pixels.length + 63) >>> 6];
+        for (int i = 0; i < pixels.length; i++){
+            if (pixels[i] > 0){
+                packed[i >>> 6] |= 1L << i;
+            }
+        }
+        return packed;
+    }
+
+    /*
+    Expands a packed bitset back into a bipolar pixel array
+
+    Parameters:
+    - long[] packed: packed pixels
+    - int numPixels: number of pixels in the pattern
+
+    Return:
+    - int[] of -1/+1 pixel values
+    */
+    public static int[] unpackPixels(long[] packed, int numPixels){
+        int[] pixels = new int[numPixels];
+        for (int i = 0; i < numPixels; i++){
+            pixels[i] = ((packed[i >>> 6] >>> i) & 1L) != 0 ? 1 : -1;
+        }
+        return pixels;
+    }
 }
@@ -0,0 +1,435 @@
+/*
+ * This program implements a compiled binary form of a data file that is kept
+ * next to the source file (with DatasetCache.EXTENSION appended to its name)
+ * and reused as long as the source file's size and modification time match
+ * the ones recorded when it was compiled.  Otherwise the source is parsed again
+ * and the cache is rewritten.
+ *
+ * Layout, all values little-endian, stored in columns:
+ *     bytes  0-3   magic "PCDS"
+ *     bytes  4-7   int format version
+ *     bytes  8-15  long size of the source file
+ *     bytes 16-23  long modification time of the source file in milliseconds
+ *     bytes 24-39  int rows, columns, output dimension, number of samples
+ *     bytes 40-47  unused
+ *     then         pixel column: pixelWords longs per sample, one bit per pixel
+ *     then         target column: targetWords longs per sample, one bit per output
+ *     then         label column: one 2 byte char per sample
+ * A set bit stands for +1 and a clear bit for -1, as in DataSample.pack.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DatasetCache {
+    static final byte[] MAGIC = {'P', 'C', 'D', 'S'};
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 48;
+    static final String EXTENSION = ".pcds";
+
+    public static String cacheFileFor(String dataFileName){
+        return dataFileName + EXTENSION;
+    }
+
+    public static List<DataSample> load(String dataFileName, boolean packSamples) throws IOException{
+    /*
+    Loads a data file through its compiled cache, compiling the cache first if
+    it is missing or older than the data file.  A compiled dataset given
+    directly, such as one written by NoisyDatasetGenerator, is read as it is.
+    Only -1/+1 pixels fit in a compiled dataset, so a data file with other
+    pixel values is parsed unpacked every time instead of being cached.
+
+    Parameters:
+    - String dataFileName: File name of data file to be loaded
+    - boolean packSamples: keep each sample's pixels as a bitset instead of an int array
+
+    Return:
+    List of DataSamples representing the dataset of sample data
+    */
+        if (dataFileName.endsWith(EXTENSION)){
+            return read(dataFileName, packSamples);
+        }
+        Path source = Paths.get(dataFileName);
+        long sourceSize = Files.size(source);
+        long sourceModified = Files.getLastModifiedTime(source).toMillis();
+        String cacheFileName = cacheFileFor(dataFileName);
+
+        if (isCurrent(cacheFileName, sourceSize, sourceModified)){
+            try {
+                return read(cacheFileName, packSamples);
+            } catch (DatasetFormatException e){
+                // A damaged cache is rebuilt from the source below
+            }
+        }
+        // Parse packed so pixels that are not -1/+1 are found instead of being cached wrongly
+        List<DataSample> dataset;
+        try {
+            dataset = ParallelDataParser.parse(dataFileName, true, Runtime.getRuntime().availableProcessors());
+        } catch (DatasetFormatException e){
+            // Parsed again unpacked: a file that only has other pixel values loads, a malformed one fails here too
+            return ParallelDataParser.parse(dataFileName, false, Runtime.getRuntime().availableProcessors());
+        }
+        if (!dataset.isEmpty()){
+            try {
+                compile(dataset, cacheFileName, sourceSize, sourceModified);
+            } catch (IOException e){
+                // The samples are already parsed, so a cache that cannot be written only costs the next load
+                System.out.println("Could not write dataset cache " + cacheFileName + ": " + e.getMessage());
+            }
+        }
+        if (!packSamples){
+            for (DataSample sample : dataset){
+                sample.setPixelArray(DataSample.unpackPixels(sample.getPackedPixels(), sample.getRowDimension() * sample.getColumnDimension()));
+            }
+        }
+        return dataset;
+    }
+
+    public static boolean isCurrent(String cacheFileName, long sourceSize, long sourceModified){
+    /*
+    Checks whether a cache file exists and was compiled from a source file with
+    the given size and modification time
+
+    Parameters:
+    - String cacheFileName: path of the cache file
+    - long sourceSize: current size of the source file
+    - long sourceModified: current modification time of the source file in milliseconds
+
+    Return:
+    boolean representing if the cache can be used
+    */
+        Path cache = Paths.get(cacheFileName);
+        if (!Files.isRegularFile(cache)){
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(cache, StandardOpenOption.READ)){
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0){
+            }
+            if (header.hasRemaining()){
+                return false;
+            }
+            for (int i = 0; i < MAGIC.length; i++){
+                if (header.get(i) != MAGIC[i]){
+                    return false;
+                }
+            }
+            return header.getInt(4) == VERSION && header.getLong(8) == sourceSize && header.getLong(16) == sourceModified;
+        } catch (IOException e){
+            return false;
+        }
+    }
+
+    public static void compile(List<DataSample> dataset, String cacheFileName, long sourceSize, long sourceModified) throws IOException{
+    /*
+    Writes a dataset in the compiled binary form.  The file is written under a
+    unique temporary name and moved into place, so readers never see half a
+    file and writers compiling the same file at once do not share a file.
+
+    Parameters:
+    - List<DataSample> dataset: samples to write
+    - String cacheFileName: path of the cache file
+    - long sourceSize: size of the source file the samples came from
+    - long sourceModified: modification time of the source file in milliseconds
+    */
+        DataSample firstSample = dataset.get(0);
+        Path target = Paths.get(cacheFileName);
+        Path temporary = temporaryFileFor(target);
+        try {
+            try (Writer writer = new Writer(temporary.toString(), firstSample.getRowDimension(), firstSample.getColumnDimension(),
+                    firstSample.getOutputDimension(), dataset.size(), sourceSize, sourceModified)){
+                for (DataSample sample : dataset){
+                    writer.write(sample);
+                }
+            }
+            moveIntoPlace(temporary, target);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    public static String compiledFileFor(String dataFileName) throws IOException{
+    /*
+    Finds the compiled dataset of a data file, compiling it first if it is
+    missing or older than the data file.  Samples are streamed from the data
+    file into the cache one at a time, so the dataset is never held in memory.
+
+    Parameters:
+    - String dataFileName: File name of data file, or of a compiled dataset
+
+    Return:
+    String path of the compiled dataset
+    */
+        if (dataFileName.endsWith(EXTENSION)){
+            return dataFileName;
+        }
+        Path source = Paths.get(dataFileName);
+        long sourceSize = Files.size(source);
+        long sourceModified = Files.getLastModifiedTime(source).toMillis();
+        String cacheFileName = cacheFileFor(dataFileName);
+        if (isCurrent(cacheFileName, sourceSize, sourceModified)){
+            return cacheFileName;
+        }
+        Path target = Paths.get(cacheFileName);
+        Path temporary = temporaryFileFor(target);
+        try {
+            try (MappedDataReader reader = new MappedDataReader(dataFileName, true);
+                    Writer writer = new Writer(temporary.toString(), reader.getInputRows(), reader.getInputColumns(),
+                        reader.getOutputDimensions(), reader.getNumSamples(), sourceSize, sourceModified)){
+                while (reader.hasNext()){
+                    writer.write(reader.next());
+                }
+            }
+            moveIntoPlace(temporary, target);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        return cacheFileName;
+    }
+
+    // Creates an empty file next to the target, with a name no other writer will be given
+    private static Path temporaryFileFor(Path target) throws IOException{
+        Path directory = target.toAbsolutePath().getParent();
+        return Files.createTempFile(directory, target.getFileName().toString() + ".", ".tmp");
+    }
+
+    // Readers never see half a file, as the whole file appears under its name at once
+    private static void moveIntoPlace(Path temporary, Path target) throws IOException{
+        try {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e){
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public static List<DataSample> read(String cacheFileName, boolean packSamples) throws IOException{
+    /*
+    Reads every sample of a compiled dataset from a single mapping of the file
+
+    Parameters:
+    - String cacheFileName: path of the cache file
+    - boolean packSamples: keep each sample's pixels as a bitset instead of an int array
+
+    Return:
+    List of DataSamples representing the dataset of sample data
+    */
+        MappedByteBuffer mapped = mapChecked(cacheFileName);
+        int rows = mapped.getInt(24);
+        int columns = mapped.getInt(28);
+        int outputDimension = mapped.getInt(32);
+        int numSamples = mapped.getInt(36);
+        int pixelWords = wordsFor(rows * columns);
+        int targetWords = wordsFor(outputDimension);
+
+        LongBuffer pixelColumn = mapped.slice(HEADER_SIZE, numSamples * pixelWords * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+        int targetStart = HEADER_SIZE + numSamples * pixelWords * Long.BYTES;
+        LongBuffer targetColumn = mapped.slice(targetStart, numSamples * targetWords * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+        int labelStart = targetStart + numSamples * targetWords * Long.BYTES;
+
+        List<DataSample> dataset = new ArrayList<>(numSamples);
+        long[] targetBits = new long[targetWords];
+        for (int n = 0; n < numSamples; n++){
+            DataSample sample = FileParser.createDataSample(rows, columns, outputDimension);
+            long[] packedPixels = new long[pixelWords];
+            pixelColumn.get(packedPixels);
+            if (packSamples){
+                sample.setPackedPixels(packedPixels);
+            } else {
+                sample.setPixelArray(DataSample.unpackPixels(packedPixels, rows * columns));
+            }
+            targetColumn.get(targetBits);
+            sample.setOutputVector(DataSample.unpackPixels(targetBits, outputDimension));
+            sample.setLabel(mapped.getChar(labelStart + n * Character.BYTES));
+            dataset.add(sample);
+        }
+        return dataset;
+    }
+
+    static MappedByteBuffer mapChecked(String cacheFileName) throws IOException{
+    /*
+    Maps a compiled dataset and checks its header against the file size
+
+    Parameters:
+    - String cacheFileName: path of the cache file
+
+    Return:
+    MappedByteBuffer of the whole file in little-endian order
+    */
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(Paths.get(cacheFileName), StandardOpenOption.READ)){
+            if (channel.size() > Integer.MAX_VALUE){
+                throw new DatasetFormatException(cacheFileName, 1, "compiled dataset is larger than 2 GB");
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        if (mapped.limit() < HEADER_SIZE){
+            throw new DatasetFormatException(cacheFileName, 1, "compiled dataset is shorter than its header");
+        }
+        for (int i = 0; i < MAGIC.length; i++){
+            if (mapped.get(i) != MAGIC[i]){
+                throw new DatasetFormatException(cacheFileName, 1, "not a compiled dataset");
+            }
+        }
+        if (mapped.getInt(4) != VERSION){
+            throw new DatasetFormatException(cacheFileName, 1, "unsupported compiled dataset version " + mapped.getInt(4));
+        }
+        long expectedSize = fileSize(mapped.getInt(24), mapped.getInt(28), mapped.getInt(32), mapped.getInt(36));
+        if (mapped.limit() != expectedSize){
+            throw new DatasetFormatException(cacheFileName, 1, "compiled dataset size does not match its header");
+        }
+        return mapped;
+    }
+
+    static int wordsFor(int bits){
+        return (bits + 63) >>> 6;
+    }
+
+    static long fileSize(int rows, int columns, int outputDimension, int numSamples){
+        long perSample = (long) (wordsFor(rows * columns) + wordsFor(outputDimension)) * Long.BYTES + Character.BYTES;
+        return HEADER_SIZE + perSample * numSamples;
+    }
+
+    // Writes a compiled dataset one sample at a time, straight into each column's place in the file
+    public static class Writer implements Closeable {
+        private static final int BUFFER_SAMPLES = 4096;
+
+        private final FileChannel channel;
+        private final int rows;
+        private final int columns;
+        private final int outputDimension;
+        private final int numSamples;
+        private final int pixelWords;
+        private final int targetWords;
+        private final ByteBuffer pixelBuffer;
+        private final ByteBuffer targetBuffer;
+        private final ByteBuffer labelBuffer;
+        private long pixelPosition;
+        private long targetPosition;
+        private long labelPosition;
+        private int samplesWritten;
+
+        // Constructor, writes the header
+        public Writer(String fileName, int rows, int columns, int outputDimension, int numSamples,
+                long sourceSize, long sourceModified) throws IOException{
+            this.rows = rows;
+            this.columns = columns;
+            this.outputDimension = outputDimension;
+            this.numSamples = numSamples;
+            this.pixelWords = wordsFor(rows * columns);
+            this.targetWords = wordsFor(outputDimension);
+            this.channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.put(MAGIC).putInt(VERSION).putLong(sourceSize).putLong(sourceModified);
+            header.putInt(rows).putInt(columns).putInt(outputDimension).putInt(numSamples);
+            header.position(HEADER_SIZE).flip();
+            writeFully(header, 0);
+
+            pixelPosition = HEADER_SIZE;
+            targetPosition = pixelPosition + (long) numSamples * pixelWords * Long.BYTES;
+            labelPosition = targetPosition + (long) numSamples * targetWords * Long.BYTES;
+            pixelBuffer = ByteBuffer.allocate(BUFFER_SAMPLES * pixelWords * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            targetBuffer = ByteBuffer.allocate(BUFFER_SAMPLES * targetWords * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            labelBuffer = ByteBuffer.allocate(BUFFER_SAMPLES * Character.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        public void write(DataSample sample) throws IOException{
+        /*
+        Appends one sample, which must match the header's dimensions and have
+        -1/+1 outputs
+
+        Parameters:
+        - DataSample sample: sample to write, packed or not
+        */
+            if (samplesWritten == numSamples){
+                throw new IOException("compiled dataset already holds " + numSamples + " samples");
+            }
+            if (sample.getRowDimension() != rows || sample.getColumnDimension() != columns || sample.getOutputDimension() != outputDimension){
+                throw new IOException("sample dimensions do not match the compiled dataset");
+            }
+            long[] packedPixels = sample.isPacked() ? sample.getPackedPixels() : DataSample.packPixels(sample.getPixelArray());
+            writePacked(packedPixels, sample.getOutputVector(), sample.getLabel());
+        }
+
+        public void writePacked(long[] packedPixels, int[] outputVector, char label) throws IOException{
+        /*
+        Appends one sample given as packed pixels
+
+        Parameters:
+        - long[] packedPixels: pixels, one bit per pixel
+        - int[] outputVector: -1/+1 target outputs
+        - char label: label of the sample
+        */
+            for (int word = 0; word < pixelWords; word++){
+                pixelBuffer.putLong(packedPixels[word]);
+            }
+            for (int word = 0; word < targetWords; word++){
+                long bits = 0L;
+                int end = Math.min(outputDimension, (word + 1) << 6);
+                for (int k = word << 6; k < end; k++){
+                    if (outputVector[k] == 1){
+                        bits |= 1L << k;
+                    } else if (outputVector[k] != -1){
+                        throw new IOException("compiled datasets need outputs of -1 or 1, found " + outputVector[k]);
+                    }
+                }
+                targetBuffer.putLong(bits);
+            }
+            labelBuffer.putChar(label);
+            samplesWritten++;
+            if (!labelBuffer.hasRemaining()){
+                flush();
+            }
+        }
+
+        private void flush() throws IOException{
+            pixelPosition += writeFully(pixelBuffer.flip(), pixelPosition);
+            targetPosition += writeFully(targetBuffer.flip(), targetPosition);
+            labelPosition += writeFully(labelBuffer.flip(), labelPosition);
+            pixelBuffer.clear();
+            targetBuffer.clear();
+            labelBuffer.clear();
+        }
+
+        private int writeFully(ByteBuffer buffer, long position) throws IOException{
+            int written = 0;
+            while (buffer.hasRemaining()){
+                written += channel.write(buffer, position + written);
+            }
+            return written;
+        }
+
+        @Override
+        public void close() throws IOException{
+            try {
+                flush();
+                if (samplesWritten != numSamples){
+                    throw new IOException("compiled dataset expected " + numSamples + " samples but got " + samplesWritten);
+                }
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
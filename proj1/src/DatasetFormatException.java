@@ -0,0 +1,35 @@
+/*
+ * This program is an exception reporting a malformed data or weights file,
+ * along with the line the problem was found on.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.io.IOException;
+
+public class DatasetFormatException extends IOException {
+    private static final long serialVersionUID = 1L;
+    private final String fileName;
+    private final long lineNumber;
+
+    // Constructor
+    public DatasetFormatException(String fileName, long lineNumber, String message){
+        super(fileName + ":" + lineNumber + ": " + message);
+        this.fileName = fileName;
+        this.lineNumber = lineNumber;
+    }
+
+    // Getters
+    public String getFileName(){
+        return fileName;
+    }
+
+    public long getLineNumber(){
+        return lineNumber;
+    }
+}
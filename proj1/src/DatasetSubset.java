@@ -0,0 +1,116 @@
+/*
+ * This program implements a view of chosen samples of a dataset.  The view
+ * holds only the indexes of its samples, so taking a subset never copies a
+ * sample, and indexes can be added to it as training goes on.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+public class DatasetSubset extends AbstractList<DataSample> implements RandomAccess {
+    private final List<DataSample> dataset;
+    private int[] indexes;
+    private int size;
+
+    // Constructor
+    public DatasetSubset(List<DataSample> dataset, int[] indexes){
+        this.dataset = dataset;
+        this.indexes = indexes.clone();
+        this.size = indexes.length;
+    }
+
+    @Override
+    public DataSample get(int position){
+        if (position < 0 || position >= size){
+            throw new IndexOutOfBoundsException("position " + position + " of a subset of " + size + " samples");
+        }
+        return dataset.get(indexes[position]);
+    }
+
+    @Override
+    public int size(){
+        return size;
+    }
+
+    public int indexOf(int position){
+    /*
+    Gets the index in the whole dataset of a sample in the view
+
+    Parameters:
+    - int position: position of the sample in the view
+
+    Return:
+    int index of the sample in the whole dataset
+    */
+        return indexes[position];
+    }
+
+    public void addIndex(int index){
+    /*
+    Adds one more sample of the whole dataset to the end of the view
+
+    Parameters:
+    - int index: index of the sample in the whole dataset
+    */
+        if (size == indexes.length){
+            indexes = Arrays.copyOf(indexes, Math.max(8, size * 2));
+        }
+        indexes[size++] = index;
+        modCount++;
+    }
+
+    public static int[] parseSampleNumbers(String spec, int numSamples){
+    /*
+    Parses a list of sample numbers and ranges, such as "1-21,25,30-".  Sample
+    numbers start at 1, and a range without an end runs to the last sample.
+
+    Parameters:
+    - String spec: comma separated sample numbers and ranges
+    - int numSamples: number of samples in the dataset
+
+    Return:
+    int[] of 0-based sample indexes in ascending order without repeats
+    */
+        boolean[] chosen = new boolean[numSamples];
+        for (String part : spec.split(",")){
+            part = part.trim();
+            if (part.isEmpty()){
+                continue;
+            }
+            int dashIndex = part.indexOf('-');
+            int first = Integer.parseInt((dashIndex < 0 ? part : part.substring(0, dashIndex)).trim());
+            int last = first;
+            if (dashIndex >= 0){
+                String end = part.substring(dashIndex + 1).trim();
+                last = end.isEmpty() ? numSamples : Integer.parseInt(end);
+            }
+            if (first < 1 || last > numSamples || first > last){
+                throw new IllegalArgumentException("sample range " + part + " is outside 1-" + numSamples);
+            }
+            Arrays.fill(chosen, first - 1, last, true);
+        }
+        int count = 0;
+        for (boolean c : chosen){
+            if (c){
+                count++;
+            }
+        }
+        int[] indexes = new int[count];
+        count = 0;
+        for (int i = 0; i < numSamples; i++){
+            if (chosen[i]){
+                indexes[count++] = i;
+            }
+        }
+        return indexes;
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * This program implements a dual-form (kernel) perceptron training engine.
+ * Instead of weights per input it keeps a coefficient per output node and
+ * training sample, and the kernel value of every pair of samples is computed
+ * once into a Gram matrix before training starts.  The y in value of every
+ * node for every sample is kept up to date as training goes: when a node
+ * misclassifies sample s, the node's y in for every sample r moves by
+ * step * (K(s, r) + 1), one pass over a row of the Gram matrix, so an update
+ * costs O(samples) no matter how many inputs there are.
+ *
+ * The dual form uses the textbook perceptron rule: a misclassification adds
+ * learningRate * target times the sample to the node's weights and the same
+ * amount to its bias, as long as that amount passes the weight change
+ * threshold.  The input-by-input threshold of NeuralNet cannot be written in
+ * terms of a kernel, so the trained weights are not the same as those of
+ * NeuralNet or FlatNeuralNet.  Training always starts from zero weights.
+ *
+ * With the linear kernel the coefficients turn back into ordinary weights,
+ * which are saved to the weights file.  Other kernels give non-linear decision
+ * boundaries and have no weights per input, so their models stay in memory.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+public class DualPerceptron {
+    private final Kernel kernel;
+    private final List<DataSample> samples;
+    private final int numSamples;
+    private final int numInputNodes;
+    private final int numOutputNodes;
+    private final double learningRate;
+    private final double thetaThreshold;
+    private final long[][] packedPixels;
+    private final int[][] pixelArrays;
+    private final double[] norms;
+    private final double[] gram;
+    private final double[] coefficients;
+    private final double[] biasWeights;
+    private final double[] yIn;
+    private boolean converged;
+
+    // Constructor, builds the Gram matrix of the training samples
+    public DualPerceptron(Kernel kernel, List<DataSample> dataset, double learningRate, double thetaThreshold){
+        this.kernel = kernel;
+        this.samples = dataset;
+        this.numSamples = dataset.size();
+        DataSample firstSample = dataset.get(0);
+        this.numInputNodes = firstSample.getRowDimension() * firstSample.getColumnDimension();
+        this.numOutputNodes = firstSample.getOutputDimension();
+        this.learningRate = learningRate;
+        this.thetaThreshold = thetaThreshold;
+        if ((long) numSamples * numSamples > Integer.MAX_VALUE){
+            throw new IllegalArgumentException("the Gram matrix of " + numSamples + " samples does not fit in one array");
+        }
+
+        boolean allPacked = true;
+        for (DataSample sample : dataset){
+            allPacked &= sample.isPacked();
+        }
+        this.packedPixels = allPacked ? new long[numSamples][] : null;
+        this.pixelArrays = allPacked ? null : new int[numSamples][];
+        this.norms = new double[numSamples];
+        for (int s = 0; s < numSamples; s++){
+            DataSample sample = dataset.get(s);
+            if (allPacked){
+                packedPixels[s] = sample.getPackedPixels();
+                norms[s] = numInputNodes;
+            } else {
+                pixelArrays[s] = sample.getPixelArray();
+                norms[s] = dot(pixelArrays[s], pixelArrays[s]);
+            }
+        }
+
+        this.gram = new double[numSamples * numSamples];
+        this.coefficients = new double[numOutputNodes * numSamples];
+        this.biasWeights = new double[numOutputNodes];
+        this.yIn = new double[numOutputNodes * numSamples];
+        // Each row fills its upper triangle and the mirrored cells, so no two rows write the same cell
+        IntStream.range(0, numSamples).parallel().forEach(a -> {
+            for (int b = a; b < numSamples; b++){
+                double value = kernel.compute(dot(a, b), norms[a], norms[b]);
+                gram[a * numSamples + b] = value;
+                gram[b * numSamples + a] = value;
+            }
+        });
+    }
+
+    public static int train(TrainingSettings netTrainingSettings){
+    /*
+    Trains a dual-form perceptron with the kernel named by the settings, and
+    saves its weights if the kernel is linear
+
+    Parameters:
+    -Training Settings netTrainingSettings: Data structure that holds training information provided by user
+
+    Return:
+    - int representing number of epochs of training occured.
+    */
+        List<DataSample> dataset = netTrainingSettings.dataset;
+        DualPerceptron net;
+        try {
+            net = new DualPerceptron(Kernel.parse(netTrainingSettings.kernel), dataset,
+                netTrainingSettings.learningRate, netTrainingSettings.thetaThreshold);
+        } catch (IllegalArgumentException e){
+            System.out.println("Invalid kernel: " + e.getMessage());
+            return 0;
+        }
+        int epochNum = net.train(netTrainingSettings.maxEpochs, netTrainingSettings.weightChangeThreshold);
+        if (!net.isConverged()){
+            System.out.println("Training reached max epochs: " + netTrainingSettings.maxEpochs + "  before converging");
+        }
+        if (net.getKernel().isLinear()){
+            try {
+                FlatNeuralNet.saveModel(net.toPrimalModel(), netTrainingSettings.trainedWeightsFile);
+            } catch (IOException e){
+                System.out.println("Error writing file: " + e.getMessage());
+                return 0;
+            }
+        } else {
+            System.out.println("The " + net.getKernel() + " kernel has no weights per input, so no weights file was saved."
+                + " Training accuracy: " + String.format("%.4f", net.accuracy(dataset)) + "\n");
+        }
+        return epochNum;
+    }
+
+    public int train(int maxEpochs, double weightChangeThreshold){
+    /*
+    Runs the dual-form perceptron rule until an epoch makes no update or the
+    maximum number of epochs is reached
+
+    Parameters:
+    - int maxEpochs: maximum number of epochs
+    - double weightChangeThreshold: an update is made only if learningRate times the target passes it
+
+    Return:
+    - int representing number of epochs of training occured.
+    */
+        int epochNum = 0;
+        converged = false;
+        while (!converged && epochNum < maxEpochs){
+            epochNum++;
+            boolean updated = false;
+            for (int s = 0; s < numSamples; s++){
+                int[] targetOutputs = samples.get(s).getOutputVector();
+                for (int outputNode = 0; outputNode < numOutputNodes; outputNode++){
+                    int nodeOffset = outputNode * numSamples;
+                    int targetOutput = targetOutputs[outputNode];
+                    if (NeuralNet.applyActivationFunction(yIn[nodeOffset + s], thetaThreshold) == targetOutput){
+                        continue;
+                    }
+                    double step = learningRate * targetOutput;
+                    if (Math.abs(step) <= weightChangeThreshold){
+                        continue;
+                    }
+                    coefficients[nodeOffset + s] += step;
+                    biasWeights[outputNode] += step;
+                    // The bias counts as an input that is always 1, hence the + 1
+                    int gramRow = s * numSamples;
+                    for (int r = 0; r < numSamples; r++){
+                        yIn[nodeOffset + r] += step * (gram[gramRow + r] + 1.0);
+                    }
+                    updated = true;
+                }
+            }
+            converged = !updated;
+        }
+        return epochNum;
+    }
+
+    public boolean isConverged(){
+        return converged;
+    }
+
+    public Kernel getKernel(){
+        return kernel;
+    }
+
+    public void classify(DataSample sample, int[] yOut){
+    /*
+    Classifies a sample into a caller supplied output array.  The kernel value
+    against each training sample is computed once and shared by all nodes.
+
+    Parameters:
+    - DataSample sample: sample to classify, packed or not
+    - int[] yOut: array of length numOutputNodes to fill with the net's outputs
+    */
+        double[] kernelValues = new double[numSamples];
+        boolean packed = packedPixels != null && sample.isPacked();
+        long[] samplePacked = packed ? sample.getPackedPixels() : null;
+        int[] sampleArray = packed ? null : sample.getPixelArray();
+        double sampleNorm = packed ? numInputNodes : dot(sampleArray, sampleArray);
+        for (int s = 0; s < numSamples; s++){
+            if (!hasCoefficient(s)){
+                continue;
+            }
+            double dot = packed ? packedDot(packedPixels[s], samplePacked) : dot(pixelArray(s), sampleArray);
+            kernelValues[s] = kernel.compute(dot, norms[s], sampleNorm);
+        }
+        for (int outputNode = 0; outputNode < numOutputNodes; outputNode++){
+            int nodeOffset = outputNode * numSamples;
+            double nodeYIn = biasWeights[outputNode];
+            for (int s = 0; s < numSamples; s++){
+                nodeYIn += coefficients[nodeOffset + s] * kernelValues[s];
+            }
+            yOut[outputNode] = NeuralNet.applyActivationFunction(nodeYIn, thetaThreshold);
+        }
+    }
+
+    public double accuracy(List<DataSample> dataset){
+    /*
+    Calculates the fraction of samples whose whole output vector is classified correctly
+
+    Parameters:
+    - List<DataSample> dataset: samples to classify
+
+    Return:
+    double between 0 and 1
+    */
+        int[] yOut = new int[numOutputNodes];
+        int correct = 0;
+        for (DataSample sample : dataset){
+            classify(sample, yOut);
+            if (Arrays.equals(yOut, sample.getOutputVector())){
+                correct++;
+            }
+        }
+        return dataset.isEmpty() ? 0.0 : (double) correct / dataset.size();
+    }
+
+    public PerceptronModel toPrimalModel(){
+    /*
+    Turns the coefficients of a linear kernel back into weights per input
+
+    Return:
+    PerceptronModel classifying exactly as this net does
+    */
+        if (!kernel.isLinear()){
+            throw new IllegalStateException("the " + kernel + " kernel has no weights per input");
+        }
+        PerceptronModel model = new PerceptronModel(numInputNodes, numOutputNodes, thetaThreshold);
+        for (int outputNode = 0; outputNode < numOutputNodes; outputNode++){
+            int weightOffset = outputNode * numInputNodes;
+            for (int s = 0; s < numSamples; s++){
+                double coefficient = coefficients[outputNode * numSamples + s];
+                if (coefficient == 0.0){
+                    continue;
+                }
+                int[] pixels = pixelArray(s);
+                for (int i = 0; i < numInputNodes; i++){
+                    model.weights[weightOffset + i] += coefficient * pixels[i];
+                }
+            }
+        }
+        System.arraycopy(biasWeights, 0, model.biasWeights, 0, numOutputNodes);
+        model.computeWeightSums();
+        return model;
+    }
+
+    private boolean hasCoefficient(int s){
+        for (int outputNode = 0; outputNode < numOutputNodes; outputNode++){
+            if (coefficients[outputNode * numSamples + s] != 0.0){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int[] pixelArray(int s){
+        return pixelArrays != null ? pixelArrays[s] : DataSample.unpackPixels(packedPixels[s], numInputNodes);
+    }
+
+    private double dot(int a, int b){
+        return packedPixels != null ? packedDot(packedPixels[a], packedPixels[b]) : dot(pixelArrays[a], pixelArrays[b]);
+    }
+
+    // With pixels of -1/+1 the dot product is the number of equal pixels minus the number of different ones
+    private double packedDot(long[] a, long[] b){
+        int different = 0;
+        for (int word = 0; word < a.length; word++){
+            different += Long.bitCount(a[word] ^ b[word]);
+        }
+        return numInputNodes - 2 * different;
+    }
+
+    private static double dot(int[] a, int[] b){
+        double sum = 0.0;
+        for (int i = 0; i < a.length; i++){
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * This program scores several trained models, and the ensemble they make,
+ * in one pass over a test data file.  The models' weights are stacked into one
+ * model whose output nodes are every model's output nodes in turn, so each
+ * block of samples goes through BatchInference once and every model's weight
+ * tiles are used while the block's pixels are still in cache.  The test file
+ * is streamed block by block and read once, however many models there are.
+ *
+ * The ensemble's outputs are voted node by node:
+ *     majority   each model's output (+1, -1 or 0) is one vote, and the node
+ *                is +1 or -1 by the larger side, or 0 on a tie
+ *     sum        the models' y in values are added up and compared with the
+ *                sum of their thetas, so confident models outweigh unsure ones
+ *
+ * Usage:
+ *     EnsembleScorer <test data file> <results file> <weights file> <weights file> ... [vote=majority] [format=human]
+ * The ensemble's results go to the results file and model m's results to the
+ * results file with ".model<m>" put before its extension.  Like StreamingTester,
+ * the scorer reads the test file once, so a label is known only from its first
+ * sample on: a classified vector whose label first appears later in the file
+ * is named with the default label, where FlatNeuralNet.test would name it
+ * from the whole dataset.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+public class EnsembleScorer {
+    public enum Vote {
+        MAJORITY, SUM;
+
+        public static Vote parse(String name){
+            return CommandLineOptions.parseEnum(Vote.class, name);
+        }
+    }
+
+    private final List<PerceptronModel> models;
+    private final PerceptronModel stacked;
+    private final Vote vote;
+    private final int numOutputNodes;
+    private final double thetaSum;
+    private final int[] modelCorrect;
+    private int ensembleCorrect;
+    private int samplesScored;
+
+    // Constructor, stacks the models' weights
+    public EnsembleScorer(List<PerceptronModel> models, Vote vote){
+        this.models = models;
+        this.stacked = stack(models);
+        this.vote = vote;
+        this.numOutputNodes = models.get(0).numOutputNodes;
+        double thetas = 0.0;
+        for (PerceptronModel model : models){
+            thetas += model.thetaThreshold;
+        }
+        this.thetaSum = thetas;
+        this.modelCorrect = new int[models.size()];
+    }
+
+    public static PerceptronModel stack(List<PerceptronModel> models){
+    /*
+    Joins models with the same layer sizes into one model whose output nodes
+    are the first model's nodes, then the second's, and so on.  Weights are
+    stored node by node, so each model's weights stay one contiguous run.
+
+    Parameters:
+    - List<PerceptronModel> models: models to stack, at least one
+
+    Return:
+    PerceptronModel with every model's output nodes; its theta is unused
+    */
+        PerceptronModel first = models.get(0);
+        int numInputNodes = first.numInputNodes;
+        int numOutputNodes = first.numOutputNodes;
+        PerceptronModel stacked = new PerceptronModel(numInputNodes, numOutputNodes * models.size(), 0.0);
+        for (int m = 0; m < models.size(); m++){
+            PerceptronModel model = models.get(m);
+            if (model.numInputNodes != numInputNodes || model.numOutputNodes != numOutputNodes){
+                throw new IllegalArgumentException("model " + (m + 1) + " has " + model.numInputNodes + " inputs and " + model.numOutputNodes
+                    + " outputs but model 1 has " + numInputNodes + " and " + numOutputNodes);
+            }
+            System.arraycopy(model.weights, 0, stacked.weights, m * model.weights.length, model.weights.length);
+            System.arraycopy(model.biasWeights, 0, stacked.biasWeights, m * numOutputNodes, numOutputNodes);
+            System.arraycopy(model.weightSums, 0, stacked.weightSums, m * numOutputNodes, numOutputNodes);
+        }
+        return stacked;
+    }
+
+    public static void main(String[] args){
+        String usage = "Usage: EnsembleScorer <test data file> <results file> <weights file> <weights file> ... [vote=majority] [format=human]";
+        Vote vote;
+        ResultWriter.Format format;
+        List<String> weightsFileNames;
+        try {
+            CommandLineOptions options = CommandLineOptions.parse(args, 2, true, "vote", "format");
+            vote = options.getEnum("vote", Vote.class, Vote.MAJORITY);
+            format = options.getEnum("format", ResultWriter.Format.class, ResultWriter.Format.HUMAN);
+            weightsFileNames = options.getPositionalArguments();
+        } catch (IllegalArgumentException e){
+            System.out.println(e.getMessage());
+            System.out.println(usage);
+            return;
+        }
+        if (weightsFileNames.isEmpty()){
+            System.out.println(usage);
+            return;
+        }
+        List<PerceptronModel> models = new ArrayList<>();
+        for (String weightsFileName : weightsFileNames){
+            try {
+                models.add(PerceptronModel.load(weightsFileName));
+            } catch (IOException e){
+                System.out.println("Error reading file: " + e.getMessage());
+                return;
+            }
+        }
+
+        try {
+            EnsembleScorer scorer = new EnsembleScorer(models, vote);
+            long start = System.nanoTime();
+            int samples = scorer.score(args[0], args[1], format);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            scorer.printResults(weightsFileNames);
+            System.out.println("Scored " + samples + " samples against " + models.size() + " models in one pass in " + millis + " ms");
+        } catch (IOException | IllegalArgumentException e){
+            System.out.println("Error scoring ensemble: " + e.getMessage());
+        }
+    }
+
+    public int score(String testingDataFileName, String resultsFileName, ResultWriter.Format resultFormat) throws IOException{
+    /*
+    Streams a test data file once, scoring each block of samples against
+    every model and the ensemble, and writes one results file per model and
+    one for the ensemble
+
+    Parameters:
+    - String testingDataFileName: test data file in the FileParser format
+    - String resultsFileName: ensemble results file, see modelResultsFileName for the models' files
+    - ResultWriter.Format resultFormat: format of the results files, or null for the human format
+
+    Return:
+    int number of samples scored
+    */
+        int numModels = models.size();
+        ResultWriter[] writers = new ResultWriter[numModels + 1];
+        try (MappedDataReader reader = new MappedDataReader(testingDataFileName, true)){
+            int numInputNodes = reader.getInputRows() * reader.getInputColumns();
+            if (numInputNodes != stacked.numInputNodes || reader.getOutputDimensions() != numOutputNodes){
+                throw new IOException(testingDataFileName + " has " + numInputNodes + " inputs and " + reader.getOutputDimensions()
+                    + " outputs but the trained weights have " + stacked.numInputNodes + " and " + numOutputNodes);
+            }
+            for (int m = 0; m < numModels; m++){
+                writers[m] = ResultWriter.open(resultFormat, modelResultsFileName(resultsFileName, m + 1), null);
+            }
+            writers[numModels] = ResultWriter.open(resultFormat, resultsFileName, null);
+
+            BatchInference inference = new BatchInference(stacked);
+            List<DataSample> block = new ArrayList<>(BatchInference.BLOCK_SAMPLES);
+            int[] outputs = new int[numOutputNodes];
+            int[] votes = new int[numOutputNodes];
+            double[] yInSums = new double[numOutputNodes];
+            while (reader.hasNext()){
+                block.clear();
+                while (block.size() < BatchInference.BLOCK_SAMPLES && reader.hasNext()){
+                    block.add(reader.next());
+                }
+                double[] yIn = inference.yInBlock(block, 0, block.size());
+                for (int s = 0; s < block.size(); s++){
+                    DataSample sample = block.get(s);
+                    Arrays.fill(votes, 0);
+                    Arrays.fill(yInSums, 0.0);
+                    for (int m = 0; m < numModels; m++){
+                        int row = (s * numModels + m) * numOutputNodes;
+                        double theta = models.get(m).thetaThreshold;
+                        for (int outputNode = 0; outputNode < numOutputNodes; outputNode++){
+                            outputs[outputNode] = NeuralNet.applyActivationFunction(yIn[row + outputNode], theta);
+                            votes[outputNode] += outputs[outputNode];
+                            yInSums[outputNode] += yIn[row + outputNode];
+                        }
+                        writers[m].write(samplesScored, sample, outputs);
+                        if (Arrays.equals(outputs, sample.getOutputVector())){
+                            modelCorrect[m]++;
+                        }
+                    }
+                    for (int outputNode = 0; outputNode < numOutputNodes; outputNode++){
+                        outputs[outputNode] = vote == Vote.SUM ? NeuralNet.applyActivationFunction(yInSums[outputNode], thetaSum)
+                            : Integer.signum(votes[outputNode]);
+                    }
+                    writers[numModels].write(samplesScored, sample, outputs);
+                    if (Arrays.equals(outputs, sample.getOutputVector())){
+                        ensembleCorrect++;
+                    }
+                    samplesScored++;
+                }
+            }
+        } finally {
+            IOException closeFailure = null;
+            for (ResultWriter writer : writers){
+                try {
+                    if (writer != null){
+                        writer.close();
+                    }
+                } catch (IOException e){
+                    closeFailure = e;
+                }
+            }
+            if (closeFailure != null){
+                throw closeFailure;
+            }
+        }
+        return samplesScored;
+    }
+
+    public static String modelResultsFileName(String resultsFileName, int modelNum){
+    /*
+    Names the results file of one model after the ensemble's results file
+
+    Parameters:
+    - String resultsFileName: ensemble results file, such as proj1/results.txt
+    - int modelNum: number of the model, starting at 1
+
+    Return:
+    String such as proj1/results.model1.txt
+    */
+        int dotIndex = resultsFileName.lastIndexOf('.');
+        int separatorIndex = Math.max(resultsFileName.lastIndexOf('/'), resultsFileName.lastIndexOf('\\'));
+        if (dotIndex <= separatorIndex + 1){
+            return resultsFileName + ".model" + modelNum;
+        }
+        return resultsFileName.substring(0, dotIndex) + ".model" + modelNum + resultsFileName.substring(dotIndex);
+    }
+
+    public void printResults(List<String> weightsFileNames){
+    /*
+    Prints the accuracy of each model and of the ensemble
+
+    Parameters:
+    - List<String> weightsFileNames: names of the models' weights files, in model order
+    */
+        System.out.println(String.format("%-9s %-40s %-9s", "model", "weights", "accuracy"));
+        for (int m = 0; m < models.size(); m++){
+            System.out.println(String.format("%-9d %-40s %-9.4f", m + 1, weightsFileNames.get(m), accuracy(modelCorrect[m])));
+        }
+        System.out.println(String.format("%-9s %-40s %-9.4f", "ensemble", vote.name().toLowerCase(Locale.ROOT) + " vote", accuracy(ensembleCorrect)));
+    }
+
+    private double accuracy(int correct){
+        return samplesScored == 0 ? 0.0 : (double) correct / samplesScored;
+    }
+
+    public double getModelAccuracy(int modelNum){
+        return accuracy(modelCorrect[modelNum - 1]);
+    }
+
+    public double getEnsembleAccuracy(){
+        return accuracy(ensembleCorrect);
+    }
+}
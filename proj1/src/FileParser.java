@@ -6,7 +6,7 @@
  * - David Kujawinski
  * - Dinh Troung
  * 
- * Date Last Modified: 3/7/2025
+ * Date Last Modified: 10/17/2026
  */
 
 import java.io.BufferedReader;
@@ -28,6 +28,20 @@ public class FileParser {
     Parameters:
     - String dataFileName: File name of data file to be parsed
 
+    Return:
+    List of DataSamples representing the dataset of sample data
+    */
+        return parseDataFile(dataFileName, false);
+    }
+
+    public static List<DataSample> parseDataFile(String dataFileName, boolean packSamples){
+    /*
+    Parses supplied data file into a individual data samples and saves them in a list
+
+    Parameters:
+    - String dataFileName: File name of data file to be parsed
+    - boolean packSamples: store each sample's pixels as a bitset instead of an int array
+
     Return:
     List of DataSamples representing the dataset of sample data
     */
@@ -85,6 +99,9 @@ public class FileParser {
                 newDataSample.setPixelArray(pixelArray);
                 newDataSample.setOutputVector(outputVector);
                 newDataSample.setLabel(label);
+                if (packSamples){
+                    newDataSample.pack();
+                }
                 dataset.add(newDataSample);
             }
             return dataset;
@@ -94,6 +111,31 @@ public class FileParser {
         } 
     }
 
+    public static List<DataSample> parseDataFileMapped(String dataFileName, boolean packSamples) throws IOException{
+    /*
+    Parses supplied data file into individual data samples by scanning the
+    memory-mapped bytes of the file, without creating a String per line or token
+
+    Parameters:
+    - String dataFileName: File name of data file to be parsed
+    - boolean packSamples: store each sample's pixels as a bitset instead of an int array
+
+    Return:
+    List of DataSamples representing the dataset of sample data
+
+    Throws:
+    - DatasetFormatException with the line number if the file is malformed
+    - IOException if the file cannot be read
+    */
+        try (MappedDataReader reader = new MappedDataReader(dataFileName, packSamples)){
+            List<DataSample> dataset = new ArrayList<>(reader.getNumSamples());
+            while (reader.hasNext()){
+                dataset.add(reader.next());
+            }
+            return dataset;
+        }
+    }
+
     public static DataSample createDataSample(int rows, int columns, int outputDimension){
     /*
     Creates data sample object
@@ -112,29 +154,48 @@ public class FileParser {
 
     public static void parseTrainedWeights(TestingSettings netTestingSettings){
     /*
-    Parses file of trained weights
+    Parses file of trained weights, in either the text format or the binary
+    format of BinaryWeightsFile, into the testing settings
 
     Parameters:
-    - TestingSettings netTestingSettings: 
+    - TestingSettings netTestingSettings: settings holding the weights file path, which the weights are stored in
+    */
+        try {
+            PerceptronModel model = PerceptronModel.load(netTestingSettings.trainedWeightsFilePath);
+            netTestingSettings.trainedModel = model;
+            netTestingSettings.trainedWeightMatrix = model.toWeightMatrix();
+            netTestingSettings.trainedBiasWeights = model.biasWeights;
+            netTestingSettings.thetaThreshold = model.thetaThreshold;
+        } catch (IOException e) {
+            System.out.println("Error reading file: " + e.getMessage());
+        }
+    }
+
+    public static PerceptronModel parseTextWeights(String trainedWeightsFileName) throws IOException{
+    /*
+    Parses a trained weights file in the text format FlatNeuralNet.saveModel writes
+
+    Parameters:
+    - String trainedWeightsFileName: path of the weights file
+
+    Return:
+    PerceptronModel holding the file's weights and theta
+
+    Throws:
+    - IOException if the file cannot be read or its contents are not weights
     */
-        String trainedWeightsFileName = netTestingSettings.trainedWeightsFilePath;
-        
         try (BufferedReader reader = new BufferedReader(new FileReader(trainedWeightsFileName))){
             // Parse number of input nodes
-            String line;
-            line = reader.readLine();
-            String[] parts = line.trim().split("\\s+");
+            String[] parts = readWeightsLine(reader, trainedWeightsFileName);
             int numInputNodes = Integer.parseInt(parts[0]);
 
             // Parse number of output nodes
-            line = reader.readLine();
-            parts = line.trim().split("\\s+");
+            parts = readWeightsLine(reader, trainedWeightsFileName);
             int numOutputNodes = Integer.parseInt(parts[0]);
 
             // Parse theta threshold value
-            line = reader.readLine();
-            parts = line.trim().split("\\s+");
-            netTestingSettings.thetaThreshold = Double.parseDouble(parts[0]);
+            parts = readWeightsLine(reader, trainedWeightsFileName);
+            double thetaThreshold = Double.parseDouble(parts[0]);
 
             // Consume blank line
             reader.readLine();
@@ -145,26 +206,31 @@ public class FileParser {
 
             // Parse node weights
             for (int rowNum = 0; rowNum < numInputNodes; rowNum++){
-                line = reader.readLine();
-                parts = line.trim().split("\\s+");
+                parts = readWeightsLine(reader, trainedWeightsFileName);
                 for (int columnNum = 0; columnNum < numOutputNodes; columnNum++){
                     weightMatrix[rowNum][columnNum] = Double.parseDouble(parts[columnNum]);
                 }
             }
-            reader.readLine();
-            netTestingSettings.trainedWeightMatrix = weightMatrix;
 
             // Consume blank line
-            line = reader.readLine();
+            reader.readLine();
 
             // Parse bias weights
-            parts = line.trim().split("\\s+");
+            parts = readWeightsLine(reader, trainedWeightsFileName);
             for (int columnNum = 0; columnNum < numOutputNodes; columnNum++){
                 biasWeights[columnNum] = Double.parseDouble(parts[columnNum]);
             }
-            netTestingSettings.trainedBiasWeights = biasWeights;
-        } catch (IOException e) {
-            System.out.println("Error reading file: " + e.getMessage());
-        } 
+            return PerceptronModel.fromWeightMatrix(weightMatrix, biasWeights, thetaThreshold);
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IOException(trainedWeightsFileName + " is not a valid weights file: " + e.getMessage(), e);
+        }
+    }
+
+    private static String[] readWeightsLine(BufferedReader reader, String trainedWeightsFileName) throws IOException{
+        String line = reader.readLine();
+        if (line == null){
+            throw new IOException(trainedWeightsFileName + " ends before all of its weights");
+        }
+        return line.trim().split("\\s+");
     }
-}
\ No newline at end of file
+}
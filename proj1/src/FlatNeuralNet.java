@@ -0,0 +1,780 @@
+/*
+ * This program implements a training and inference engine for the perceptron
+ * that keeps all weights in one contiguous output-major array (see
+ * PerceptronModel).  It follows the same learning rule as NeuralNet and reads
+ * and writes the same weights and results files, but each output node's
+ * weights are scanned as a single run of memory and the training and testing
+ * loops do not allocate per sample.
+ *
+ * Samples stored as packed bitsets (see DataSample.pack) are scored without
+ * multiplying at all: with pixels of -1/+1,
+ *     yIn = bias - sum(w) + 2 * sum(w over pixels that are +1)
+ * so only the weights of set bits are read, using the per-node weight sums
+ * kept in PerceptronModel.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+public class FlatNeuralNet {
+    public static int train(TrainingSettings netTrainingSettings){
+    /*
+    Creates neural net and performs perceptron learning rule based on information
+    provided by user, then saves the trained weights.
+
+    Parameters:
+    -Training Settings netTrainingSettings: Data structure that holds training information provided by user
+
+    Return:
+    - int representing number of epochs of training occured.
+    */
+        if (netTrainingSettings.kernel != null){
+            return DualPerceptron.train(netTrainingSettings);
+        }
+        List<DataSample> dataset = netTrainingSettings.dataset;
+        PerceptronModel model;
+        try {
+            model = initialModel(dataset.get(0), netTrainingSettings);
+        } catch (IOException e){
+            System.out.println("Error reading file: " + e.getMessage());
+            return 0;
+        }
+        TrainingTelemetry telemetry = openTelemetry(netTrainingSettings.telemetryFilePath, model.numOutputNodes,
+            netTrainingSettings.datasetLoadNanos);
+
+        long trainStart = System.nanoTime();
+        int epochNum;
+        try {
+            epochNum = trainModel(model, dataset, netTrainingSettings, telemetry);
+        } catch (IllegalArgumentException e){
+            System.out.println("Invalid training subset: " + e.getMessage());
+            closeTelemetry(telemetry);
+            return 0;
+        }
+        long trainNanos = System.nanoTime() - trainStart;
+        if (epochNum >= netTrainingSettings.maxEpochs && !isConverged(model, dataset)){
+            System.out.println("Training reached max epochs: " + netTrainingSettings.maxEpochs + "  before converging");
+        }
+        long saveStart = System.nanoTime();
+        try {
+            saveModel(model, netTrainingSettings.trainedWeightsFile);
+        } catch (IOException e){
+            System.out.println("Error writing file: " + e.getMessage());
+            closeTelemetry(telemetry);
+            return 0;
+        }
+        finishTelemetry(telemetry, trainNanos, System.nanoTime() - saveStart);
+        return epochNum;
+    }
+
+    static TrainingTelemetry openTelemetry(String telemetryFileName, int numOutputNodes, long parseNanos){
+    /*
+    Starts telemetry for a training run.  Telemetry only observes training, so
+    a telemetry error is reported and training goes on without it.
+
+    Parameters:
+    - String telemetryFileName: file to stream records to, or null for JFR events only
+    - int numOutputNodes: number of output nodes of the model being trained
+    - long parseNanos: time spent loading the dataset, or 0 if it is unknown
+
+    Return:
+    TrainingTelemetry, or null if there is none or it could not be opened
+    */
+        TrainingTelemetry telemetry = null;
+        try {
+            telemetry = TrainingTelemetry.open(telemetryFileName, numOutputNodes);
+            if (telemetry != null && parseNanos > 0){
+                telemetry.recordPhase("parse", parseNanos);
+            }
+            return telemetry;
+        } catch (IOException e){
+            System.out.println("Error writing telemetry: " + e.getMessage());
+            closeTelemetry(telemetry);
+            return null;
+        }
+    }
+
+    static void finishTelemetry(TrainingTelemetry telemetry, long trainNanos, long saveNanos){
+    /*
+    Records the train and save phases and closes telemetry, reporting rather
+    than throwing a failure, as the weights are already saved
+
+    Parameters:
+    - TrainingTelemetry telemetry: telemetry of the run, or null for none
+    - long trainNanos: time spent training
+    - long saveNanos: time spent saving the weights
+    */
+        if (telemetry == null){
+            return;
+        }
+        try {
+            telemetry.recordPhase("train", trainNanos);
+            telemetry.recordPhase("save", saveNanos);
+        } catch (IOException e){
+            System.out.println("Error writing telemetry: " + e.getMessage());
+        } finally {
+            closeTelemetry(telemetry);
+        }
+    }
+
+    // Closes telemetry, reporting rather than throwing a failure to flush it
+    static void closeTelemetry(TrainingTelemetry telemetry){
+        if (telemetry == null){
+            return;
+        }
+        try {
+            telemetry.close();
+        } catch (IOException e){
+            System.out.println("Error writing telemetry: " + e.getMessage());
+        }
+    }
+
+    public static void saveModel(PerceptronModel model, String trainedWeightsFileName) throws IOException{
+    /*
+    Saves trained weights, in the binary format if the file name ends with
+    BinaryWeightsFile.EXTENSION and in the text format otherwise
+
+    Parameters:
+    - PerceptronModel model: trained model
+    - String trainedWeightsFileName: output file name
+
+    Throws:
+    - IOException if the weights file cannot be written
+    */
+        if (trainedWeightsFileName.endsWith(BinaryWeightsFile.EXTENSION)){
+            BinaryWeightsFile.save(model, trainedWeightsFileName);
+        } else {
+            NeuralNet.writeWeightsFile(model.toWeightMatrix(), model.biasWeights, trainedWeightsFileName, model.thetaThreshold);
+        }
+        System.out.println("Weights saved successfully to " + trainedWeightsFileName + "\n");
+    }
+
+    public static PerceptronModel initialModel(DataSample firstSample, TrainingSettings netTrainingSettings) throws IOException{
+    /*
+    Creates the model training starts from: the weights file named by the
+    settings if there is one, otherwise zero or random weights
+
+    Parameters:
+    - DataSample firstSample: sample used to size the input and output layers
+    - TrainingSettings netTrainingSettings: settings holding theta and the weight initialization choice
+
+    Return:
+    PerceptronModel ready to train
+    */
+        if (netTrainingSettings.initialWeightsFilePath != null){
+            return IncrementalTrainer.loadInitialModel(firstSample, netTrainingSettings);
+        }
+        return createModel(firstSample, netTrainingSettings);
+    }
+
+    public static PerceptronModel createModel(DataSample firstSample, TrainingSettings netTrainingSettings){
+    /*
+    Creates net architecture from a data sample and initializes its weights
+
+    Parameters:
+    - DataSample firstSample: sample used to size the input and output layers
+    - TrainingSettings netTrainingSettings: settings holding theta and the weight initialization choice
+
+    Return:
+    PerceptronModel with zero or random initial weights
+    */
+        int numInputNodes = firstSample.getRowDimension() * firstSample.getColumnDimension();
+        int numOutputNodes = firstSample.getOutputDimension();
+        PerceptronModel model = new PerceptronModel(numInputNodes, numOutputNodes, netTrainingSettings.thetaThreshold);
+        if (!netTrainingSettings.setWeightsToZero){
+            NeuralNet.initializeWeightsRandomValues(model.biasWeights);
+            NeuralNet.initializeWeightsRandomValues(model.weights);
+            model.computeWeightSums();
+        }
+        return model;
+    }
+
+    public static int trainModel(PerceptronModel model, List<DataSample> dataset, TrainingSettings netTrainingSettings){
+    /*
+    Runs the perceptron learning rule on a model until no weight changes during
+    an epoch or the maximum number of epochs is reached.
+
+    Parameters:
+    - PerceptronModel model: model to train in place
+    - List<DataSample> dataset: samples to train on
+    - TrainingSettings netTrainingSettings: learning rate, theta, thresholds and max epochs
+
+    Return:
+    - int representing number of epochs of training occured.
+    */
+        return trainModel(model, dataset, netTrainingSettings, null);
+    }
+
+    public static int trainModel(PerceptronModel model, List<DataSample> dataset, TrainingSettings netTrainingSettings, TrainingTelemetry telemetry){
+    /*
+    Runs the perceptron learning rule on a model, recording per-epoch telemetry
+    if it is given.  If telemetry cannot be written, the error is reported and
+    the rest of training runs without it.  If the settings choose a training subset, training is
+    incremental (see IncrementalTrainer), and if they choose a training
+    algorithm, shuffling or a target accuracy it goes through TrainingStrategy,
+    which records the same telemetry.  Telemetry needs whole-net epochs, so
+    parallel training with telemetry runs sequentially, saying so; the weights
+    are the same either way.
+
+    Parameters:
+    - PerceptronModel model: model to train in place
+    - List<DataSample> dataset: samples to train on
+    - TrainingSettings netTrainingSettings: learning rate, theta, thresholds and max epochs
+    - TrainingTelemetry telemetry: telemetry to record, or null for none
+
+    Return:
+    - int representing number of epochs of training occured.
+    */
+        if (netTrainingSettings.trainingSubset != null){
+            return IncrementalTrainer.trainIncremental(model, dataset, netTrainingSettings, telemetry);
+        }
+        if (TrainingStrategy.isSelected(netTrainingSettings)){
+            return TrainingStrategy.train(model, dataset, netTrainingSettings, telemetry).epochs;
+        }
+        if (telemetry != null){
+            if (netTrainingSettings.trainInParallel){
+                System.out.println("Telemetry records whole-net epochs, so training runs sequentially instead of in parallel;"
+                    + " the trained weights are the same");
+            }
+            return trainModelWithTelemetry(model, dataset, netTrainingSettings, telemetry);
+        }
+        if (netTrainingSettings.trainInParallel){
+            return ParallelNeuralNet.trainModel(model, dataset, netTrainingSettings);
+        }
+        double learningRate = netTrainingSettings.learningRate;
+        double weightChangeThreshold = netTrainingSettings.weightChangeThreshold;
+        int numOutputNodes = model.numOutputNodes;
+
+        boolean converged = false;
+        int epochNum = 0;
+        while (!converged && epochNum < netTrainingSettings.maxEpochs){
+            epochNum++;
+            boolean weightChanged = false;
+            for (DataSample sample : dataset){
+                for (int outputNode = 0; outputNode < numOutputNodes; outputNode++){
+                    weightChanged |= trainNodeOnSample(model, sample, outputNode, learningRate, weightChangeThreshold);
+                }
+            }
+            if (!weightChanged){
+                converged = true;
+            }
+        }
+        return epochNum;
+    }
+
+    public static int trainModel(PerceptronModel model, ColumnarDataset dataset, TrainingSettings netTrainingSettings){
+    /*
+    Runs the perceptron learning rule on a model over a columnar dataset, reading
+    every sample into one view, so an epoch creates no objects
+
+    Parameters:
+    - PerceptronModel model: model to train in place
+    - ColumnarDataset dataset: samples to train on
+    - TrainingSettings netTrainingSettings: learning rate, theta, thresholds and max epochs
+
+    Return:
+    - int representing number of epochs of training occured.
+    */
+        double learningRate = netTrainingSettings.learningRate;
+        double weightChangeThreshold = netTrainingSettings.weightChangeThreshold;
+        int numOutputNodes = model.numOutputNodes;
+        DataSample view = dataset.newView();
+
+        boolean converged = false;
+        int epochNum = 0;
+        while (!converged && epochNum < netTrainingSettings.maxEpochs){
+            epochNum++;
+            boolean weightChanged = false;
+            for (int sampleNum = 0; sampleNum < dataset.size(); sampleNum++){
+                dataset.get(sampleNum, view);
+                for (int outputNode = 0; outputNode < numOutputNodes; outputNode++){
+                    weightChanged |= trainNodeOnSample(model, view, outputNode, learningRate, weightChangeThreshold);
+                }
+            }
+            if (!weightChanged){
+                converged = true;
+            }
+        }
+        return epochNum;
+    }
+
+    private static int trainModelWithTelemetry(PerceptronModel model, List<DataSample> dataset, TrainingSettings netTrainingSettings, TrainingTelemetry telemetry){
+        double learningRate = netTrainingSettings.learningRate;
+        double weightChangeThreshold = netTrainingSettings.weightChangeThreshold;
+        int numOutputNodes = model.numOutputNodes;
+
+        boolean converged = false;
+        int epochNum = 0;
+        while (!converged && epochNum < netTrainingSettings.maxEpochs){
+            epochNum++;
+            if (telemetry != null){
+                telemetry.beginEpoch(epochNum);
+            }
+            boolean weightChanged = false;
+            for (DataSample sample : dataset){
+                int[] targetOutputs = sample.getOutputVector();
+                boolean sampleMisclassified = false;
+                for (int outputNode = 0; outputNode < numOutputNodes; outputNode++){
+                    int targetOutput = targetOutputs[outputNode];
+                    if (calculateOutput(model, sample, outputNode) == targetOutput){
+                        continue;
+                    }
+                    sampleMisclassified = true;
+                    if (telemetry != null){
+                        telemetry.recordMisclassification(sample, outputNode, learningRate * targetOutput, weightChangeThreshold);
+                    }
+                    weightChanged |= updateNode(model, sample, outputNode, targetOutput, learningRate, weightChangeThreshold);
+                }
+                if (sampleMisclassified && telemetry != null){
+                    telemetry.recordMisclassifiedSample();
+                }
+            }
+            if (telemetry != null){
+                try {
+                    telemetry.endEpoch(dataset.size());
+                } catch (IOException e){
+                    System.out.println("Error writing telemetry: " + e.getMessage());
+                    telemetry = null;
+                }
+            }
+            if (!weightChanged){
+                converged = true;
+            }
+        }
+        return epochNum;
+    }
+
+    public static boolean trainNodeOnSample(PerceptronModel model, DataSample sample, int outputNode, double learningRate, double weightChangeThreshold){
+    /*
+    Applies one step of the perceptron learning rule to a single output node:
+    classifies the sample and updates the node's weights if it was wrong.
+    Only the node's own weights, bias weight and weight sum are read or written.
+
+    Parameters:
+    - PerceptronModel model: model being trained
+    - DataSample sample: current sample, packed or not
+    - int outputNode: output node to train
+    - double learningRate: alpha learning rate specified by user
+    - double weightChangeThreshold: threshold to stabilize weight change
+
+    Return:
+    - boolean representing if any weight was changed
+    */
+        int targetOutput = sample.getOutputVector()[outputNode];
+        if (calculateOutput(model, sample, outputNode) == targetOutput){
+            return false;
+        }
+        return updateNode(model, sample, outputNode, targetOutput, learningRate, weightChangeThreshold);
+    }
+
+    public static int calculateOutput(PerceptronModel model, DataSample sample, int outputNode){
+    /*
+    Calculates the output of a single output node for a sample, packed or not
+
+    Parameters:
+    - PerceptronModel model: model to use
+    - DataSample sample: sample to classify
+    - int outputNode: output node to calculate
+
+    Return:
+    - int representing the node's activation
+    */
+        int offset = outputNode * model.numInputNodes;
+        double yIn;
+        if (sample.isPacked()){
+            yIn = calculateYInPacked(model.weights, offset, model.biasWeights[outputNode], model.weightSums[outputNode], sample.getPackedPixels());
+        } else {
+            yIn = calculateYIn(model.weights, offset, model.biasWeights[outputNode], sample.getPixelArray());
+        }
+        return NeuralNet.applyActivationFunction(yIn, model.thetaThreshold);
+    }
+
+    public static boolean updateNode(PerceptronModel model, DataSample sample, int outputNode, int targetOutput, double learningRate, double weightChangeThreshold){
+    /*
+    Updates a single output node's weights after it misclassified a sample
+
+    Parameters:
+    - PerceptronModel model: model being trained
+    - DataSample sample: misclassified sample, packed or not
+    - int outputNode: output node to update
+    - int targetOutput: target value of the output node
+    - double learningRate: alpha learning rate specified by user
+    - double weightChangeThreshold: threshold to stabilize weight change
+
+    Return:
+    - boolean representing if any weight was changed
+    */
+        if (sample.isPacked()){
+            return updateWeightsPacked(model, sample.getPackedPixels(), targetOutput, learningRate, outputNode, weightChangeThreshold);
+        }
+        return updateWeights(model.weights, outputNode * model.numInputNodes, model.biasWeights, model.weightSums,
+            sample.getPixelArray(), targetOutput, learningRate, outputNode, weightChangeThreshold);
+    }
+
+    public static double calculateYIn(double[] weights, int offset, double biasWeight, int[] inputSignals){
+    /*
+    Calculates the y in value of one output node as a dot product over that
+    node's contiguous run of weights.  Four independent partial sums are kept
+    so consecutive multiply-adds do not wait on each other.
+
+    Parameters:
+    - double[] weights: output-major weight array
+    - int offset: index of the output node's first weight
+    - double biasWeight: bias weight of the output node
+    - int[] inputSignals: pixels of the current sample
+
+    Return:
+    - double representing computed YIn
+    */
+        int length = inputSignals.length;
+        int limit = length & ~3;
+        double sum0 = 0.0;
+        double sum1 = 0.0;
+        double sum2 = 0.0;
+        double sum3 = 0.0;
+        int i = 0;
+        for (; i < limit; i += 4){
+            sum0 += inputSignals[i] * weights[offset + i];
+            sum1 += inputSignals[i + 1] * weights[offset + i + 1];
+            sum2 += inputSignals[i + 2] * weights[offset + i + 2];
+            sum3 += inputSignals[i + 3] * weights[offset + i + 3];
+        }
+        for (; i < length; i++){
+            sum0 += inputSignals[i] * weights[offset + i];
+        }
+        return biasWeight + ((sum0 + sum1) + (sum2 + sum3));
+    }
+
+    public static double calculateYInPacked(double[] weights, int offset, double biasWeight, double weightSum, long[] packedPixels){
+    /*
+    Calculates the y in value of one output node for a packed sample by adding
+    up only the weights whose pixel is +1.
+
+    Parameters:
+    - double[] weights: output-major weight array
+    - int offset: index of the output node's first weight
+    - double biasWeight: bias weight of the output node
+    - double weightSum: sum of all of the output node's weights
+    - long[] packedPixels: pixels of the current sample, one bit per pixel
+
+    Return:
+    - double representing computed YIn
+    */
+        double setSum = 0.0;
+        for (int word = 0; word < packedPixels.length; word++){
+            long bits = packedPixels[word];
+            int base = offset + (word << 6);
+            while (bits != 0){
+                setSum += weights[base + Long.numberOfTrailingZeros(bits)];
+                bits &= bits - 1;
+            }
+        }
+        return biasWeight - weightSum + 2.0 * setSum;
+    }
+
+    public static boolean updateWeights(double[] weights, int offset, double[] biasWeights, double[] weightSums, int[] inputSignals, int targetOutput, double learningRate, int outputNode, double weightChangeThreshold){
+    /*
+    Updates one output node's weights according to the weight change formula,
+    if the calculated weight delta is greater than the weight change threshold.
+
+    Parameters:
+    - double[] weights: output-major weight array
+    - int offset: index of the output node's first weight
+    - double[] biasWeights: Array of current bias weight values
+    - double[] weightSums: per-node weight sums, kept up to date with the changes
+    - int[] inputSignals: pixels of the current sample
+    - int targetOutput: target value of the output node
+    - double learningRate: alpha learning rate specified by user
+    - int outputNode: output node being updated
+    - double weightChangeThreshold: threshold to stabilize weight change
+
+    Return:
+    - boolean representing if any weight was changed
+    */
+        boolean greaterThanChangeThreshold = false;
+        double nodeDelta = learningRate * targetOutput;
+        double sumDelta = 0.0;
+        for (int i = 0; i < inputSignals.length; i++){
+            double weightDelta = nodeDelta * inputSignals[i];
+            if (weightDelta > weightChangeThreshold){
+                weights[offset + i] += weightDelta;
+                sumDelta += weightDelta;
+                greaterThanChangeThreshold = true;
+            }
+        }
+        weightSums[outputNode] += sumDelta;
+        if (nodeDelta > weightChangeThreshold){
+            biasWeights[outputNode] += nodeDelta;
+            greaterThanChangeThreshold = true;
+        }
+        return greaterThanChangeThreshold;
+    }
+
+    public static boolean updateWeightsPacked(PerceptronModel model, long[] packedPixels, int targetOutput, double learningRate, int outputNode, double weightChangeThreshold){
+    /*
+    Packed-sample version of updateWeights.  Pixels of +1 change by
+    learningRate * target and pixels of -1 by the negation of that, so at most
+    one of the two groups passes the weight change threshold and the node's
+    weight sum moves by that delta times the number of pixels in the group.
+
+    Parameters:
+    - PerceptronModel model: model being trained
+    - long[] packedPixels: pixels of the current sample, one bit per pixel
+    - int targetOutput: target value of the output node
+    - double learningRate: alpha learning rate specified by user
+    - int outputNode: output node being updated
+    - double weightChangeThreshold: threshold to stabilize weight change
+
+    Return:
+    - boolean representing if any weight was changed
+    */
+        boolean greaterThanChangeThreshold = false;
+        double[] weights = model.weights;
+        int numInputNodes = model.numInputNodes;
+        int offset = outputNode * numInputNodes;
+        double nodeDelta = learningRate * targetOutput;
+
+        // Pick the pixel group whose delta passes the threshold, if any
+        double weightDelta;
+        boolean updateSetBits;
+        if (nodeDelta > weightChangeThreshold){
+            weightDelta = nodeDelta;
+            updateSetBits = true;
+        } else if (-nodeDelta > weightChangeThreshold){
+            weightDelta = -nodeDelta;
+            updateSetBits = false;
+        } else {
+            weightDelta = 0.0;
+            updateSetBits = false;
+        }
+
+        if (weightDelta != 0.0){
+            int updatedCount = 0;
+            for (int word = 0; word < packedPixels.length; word++){
+                long bits = updateSetBits ? packedPixels[word] : ~packedPixels[word];
+                int base = word << 6;
+                // Mask off bits past the last pixel in the final word
+                int remaining = numInputNodes - base;
+                if (remaining < 64){
+                    bits &= (1L << remaining) - 1;
+                }
+                updatedCount += Long.bitCount(bits);
+                while (bits != 0){
+                    weights[offset + base + Long.numberOfTrailingZeros(bits)] += weightDelta;
+                    bits &= bits - 1;
+                }
+            }
+            if (updatedCount > 0){
+                model.weightSums[outputNode] += weightDelta * updatedCount;
+                greaterThanChangeThreshold = true;
+            }
+        }
+
+        if (nodeDelta > weightChangeThreshold){
+            model.biasWeights[outputNode] += nodeDelta;
+            greaterThanChangeThreshold = true;
+        }
+        return greaterThanChangeThreshold;
+    }
+
+    public static void classify(PerceptronModel model, DataSample sample, int[] yOut){
+    /*
+    Classifies one sample, packed or not, into a caller supplied output array
+
+    Parameters:
+    - PerceptronModel model: trained model
+    - DataSample sample: sample to classify
+    - int[] yOut: array of length numOutputNodes to fill with the net's outputs
+    */
+        if (sample.isPacked()){
+            classifyPacked(model, sample.getPackedPixels(), yOut);
+        } else {
+            classify(model, sample.getPixelArray(), yOut);
+        }
+    }
+
+    public static void classifyPacked(PerceptronModel model, long[] packedPixels, int[] yOut){
+    /*
+    Classifies one packed sample into a caller supplied output array
+
+    Parameters:
+    - PerceptronModel model: trained model
+    - long[] packedPixels: pixels of the sample, one bit per pixel
+    - int[] yOut: array of length numOutputNodes to fill with the net's outputs
+    */
+        int numInputNodes = model.numInputNodes;
+        for (int outputNode = 0; outputNode < model.numOutputNodes; outputNode++){
+            double yIn = calculateYInPacked(model.weights, outputNode * numInputNodes, model.biasWeights[outputNode], model.weightSums[outputNode], packedPixels);
+            yOut[outputNode] = NeuralNet.applyActivationFunction(yIn, model.thetaThreshold);
+        }
+    }
+
+    public static void classify(PerceptronModel model, int[] inputSignals, int[] yOut){
+    /*
+    Classifies one sample into a caller supplied output array
+
+    Parameters:
+    - PerceptronModel model: trained model
+    - int[] inputSignals: pixels of the sample
+    - int[] yOut: array of length numOutputNodes to fill with the net's outputs
+    */
+        int numInputNodes = model.numInputNodes;
+        for (int outputNode = 0; outputNode < model.numOutputNodes; outputNode++){
+            double yIn = calculateYIn(model.weights, outputNode * numInputNodes, model.biasWeights[outputNode], inputSignals);
+            yOut[outputNode] = NeuralNet.applyActivationFunction(yIn, model.thetaThreshold);
+        }
+    }
+
+    public static boolean isConverged(PerceptronModel model, List<DataSample> dataset){
+    /*
+    Checks whether every sample in a dataset is classified correctly by a model
+
+    Parameters:
+    - PerceptronModel model: model to check
+    - List<DataSample> dataset: samples to classify
+
+    Return:
+    - boolean representing if all samples match their output vectors
+    */
+        int[] yOut = new int[model.numOutputNodes];
+        for (DataSample sample : dataset){
+            classify(model, sample, yOut);
+            int[] targetOutputs = sample.getOutputVector();
+            for (int outputNode = 0; outputNode < yOut.length; outputNode++){
+                if (yOut[outputNode] != targetOutputs[outputNode]){
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public static double accuracy(PerceptronModel model, List<DataSample> dataset){
+    /*
+    Calculates the fraction of samples whose whole output vector is classified correctly
+
+    Parameters:
+    - PerceptronModel model: trained model
+    - List<DataSample> dataset: samples to classify
+
+    Return:
+    double between 0 and 1
+    */
+        int[] yOut = new int[model.numOutputNodes];
+        int correct = 0;
+        for (DataSample sample : dataset){
+            classify(model, sample, yOut);
+            if (Arrays.equals(yOut, sample.getOutputVector())){
+                correct++;
+            }
+        }
+        return dataset.isEmpty() ? 0.0 : (double) correct / dataset.size();
+    }
+
+    public static double accuracy(PerceptronModel model, ColumnarDataset dataset){
+    /*
+    Calculates the fraction of samples of a columnar dataset whose whole output
+    vector is classified correctly
+
+    Parameters:
+    - PerceptronModel model: trained model
+    - ColumnarDataset dataset: samples to classify
+
+    Return:
+    double between 0 and 1
+    */
+        int[] yOut = new int[model.numOutputNodes];
+        DataSample view = dataset.newView();
+        int correct = 0;
+        for (int sampleNum = 0; sampleNum < dataset.size(); sampleNum++){
+            classify(model, dataset.get(sampleNum, view), yOut);
+            if (Arrays.equals(yOut, view.getOutputVector())){
+                correct++;
+            }
+        }
+        return dataset.size() == 0 ? 0.0 : (double) correct / dataset.size();
+    }
+
+    public static void test(TestingSettings netTestingSettings){
+    /*
+    Tests neural net with dataset and trained weights.
+
+    Parameters:
+    -Testing Settings netTestingSettings: Data structure that holds testing information provided by user.
+    */
+        if (netTestingSettings.columnarDataset != null){
+            try {
+                testColumnar(netTestingSettings);
+                System.out.println("Results saved successfully to " + netTestingSettings.testingResultsOutputFilePath + "\n");
+            } catch (IOException e){
+                System.out.println("Error writing file: " + e.getMessage());
+            }
+            return;
+        }
+        List<DataSample> dataset = netTestingSettings.dataset;
+        QuantizedModel quantized = quantizedModel(netTestingSettings);
+        PerceptronModel model = netTestingSettings.trainedModel;
+        if (model == null && quantized == null){
+            model = PerceptronModel.fromWeightMatrix(netTestingSettings.trainedWeightMatrix,
+                netTestingSettings.trainedBiasWeights, netTestingSettings.thetaThreshold);
+        }
+
+        // Every row of the results is allocated up front, so the loop itself does not allocate
+        int numOutputNodes = quantized != null ? quantized.numOutputNodes : model.numOutputNodes;
+        int[][] netClassifications = new int[dataset.size()][numOutputNodes];
+        if (quantized != null){
+            for (int sampleNum = 0; sampleNum < dataset.size(); sampleNum++){
+                quantized.classify(dataset.get(sampleNum), netClassifications[sampleNum]);
+            }
+        } else {
+            BatchInference.classifyAll(model, dataset, netClassifications);
+        }
+        try (ResultWriter writer = ResultWriter.open(netTestingSettings.resultFormat, netTestingSettings.testingResultsOutputFilePath,
+                LabelRegistry.forDataset(dataset))){
+            for (int sampleNum = 0; sampleNum < dataset.size(); sampleNum++){
+                writer.write(sampleNum, dataset.get(sampleNum), netClassifications[sampleNum]);
+            }
+        } catch (IOException e){
+            System.out.println("Error writing file: " + e.getMessage());
+            return;
+        }
+        System.out.println("Results saved successfully to " + netTestingSettings.testingResultsOutputFilePath + "\n");
+    }
+
+    // Uses the settings' quantized model if the caller cached one, otherwise quantizes the trained model if asked to
+    private static QuantizedModel quantizedModel(TestingSettings netTestingSettings){
+        if (netTestingSettings.quantizedModel != null || netTestingSettings.quantization == null){
+            return netTestingSettings.quantizedModel;
+        }
+        return QuantizedModel.quantize(netTestingSettings.trainedModel, netTestingSettings.quantization);
+    }
+
+    // Writes each result as its sample is classified, so no results matrix grows with the dataset
+    private static void testColumnar(TestingSettings netTestingSettings) throws IOException{
+        PerceptronModel model = netTestingSettings.trainedModel;
+        ColumnarDataset dataset = netTestingSettings.columnarDataset;
+        QuantizedModel quantized = quantizedModel(netTestingSettings);
+        DataSample view = dataset.newView();
+        int[] yOut = new int[quantized != null ? quantized.numOutputNodes : model.numOutputNodes];
+        // Labels are learned as samples are written, as in StreamingTester
+        try (ResultWriter writer = ResultWriter.open(netTestingSettings.resultFormat, netTestingSettings.testingResultsOutputFilePath, null)){
+            for (int sampleNum = 0; sampleNum < dataset.size(); sampleNum++){
+                dataset.get(sampleNum, view);
+                if (quantized != null){
+                    quantized.classify(view, yOut);
+                } else {
+                    classify(model, view, yOut);
+                }
+                writer.write(sampleNum, view, yOut);
+            }
+        }
+    }
+}
@@ -0,0 +1,350 @@
+/*
+ * This program implements a hyperparameter sweep over the training settings.
+ * It reads a sweep spec, parses the training and testing datasets once, and
+ * trains one net per configuration concurrently on a bounded thread pool,
+ * reporting epochs, test accuracy and wall time for each configuration.
+ *
+ * The spec is a text file of "key = value" lines ('#' starts a comment):
+ *     training = proj1/Sample Training Dataset.txt
+ *     testing = proj1/Sample Testing Dataset-1.txt     (optional, defaults to training)
+ *     mode = grid | random
+ *     learningRate = 0.1, 0.5, 1.0                     (grid: list of values)
+ *     thetaThreshold = -1.0 .. 1.0                     (random: a range)
+ *     weightChangeThreshold = 0.0001
+ *     setWeightsToZero = true, false
+ *     maxEpochs = 1000
+ *     samples = 50                                     (random mode only)
+ *     seed = 42                                        (random mode only)
+ *     threads = 8                                      (defaults to the number of cores)
+ *     report = proj1/sweep.csv                         (optional CSV report)
+ * An unknown key or a value that is not a number is reported with the usage
+ * line instead of running the sweep.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class HyperparameterSweep {
+    private static final String[] SPEC_KEYS = {"training", "testing", "mode", "learningRate", "thetaThreshold",
+        "weightChangeThreshold", "setWeightsToZero", "maxEpochs", "samples", "seed", "threads", "report"};
+
+    public static void main(String[] args){
+        String usage = "Usage: HyperparameterSweep <sweep spec file>";
+        if (args.length < 1){
+            System.out.println(usage);
+            return;
+        }
+        try {
+            runSweep(args[0]);
+        } catch (IOException e){
+            System.out.println("Error running sweep: " + e.getMessage());
+        } catch (IllegalArgumentException e){
+            System.out.println(args[0] + ": " + e.getMessage());
+            System.out.println(usage);
+        }
+    }
+
+    public static List<SweepResult> runSweep(String specFileName) throws IOException{
+    /*
+    Runs every configuration of a sweep spec and prints the results
+
+    Parameters:
+    - String specFileName: path of the sweep spec file
+
+    Return:
+    List of SweepResults in configuration order
+    */
+        CommandLineOptions spec = specOptions(readSpec(specFileName));
+        String trainingFile = require(spec, "training");
+        List<TrainingSettings> configurations = buildConfigurations(spec);
+        int threads = spec.getInt("threads", Runtime.getRuntime().availableProcessors());
+        if (threads < 1){
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+
+        List<DataSample> trainingSet = FileParser.parseDataFile(trainingFile, true);
+        String testingFile = spec.getString("testing", null);
+        List<DataSample> testingSet = testingFile != null ? FileParser.parseDataFile(testingFile, true) : trainingSet;
+        if (trainingSet == null || testingSet == null){
+            throw new IOException("could not read datasets for sweep " + specFileName);
+        }
+
+        System.out.println("Running " + configurations.size() + " configurations on " + threads + " threads");
+
+        long sweepStart = System.nanoTime();
+        List<SweepResult> results = runConfigurations(configurations, trainingSet, testingSet, threads);
+        long sweepMillis = (System.nanoTime() - sweepStart) / 1_000_000;
+
+        printResults(results);
+        System.out.println("Sweep finished in " + sweepMillis + " ms");
+        String reportFile = spec.getString("report", null);
+        if (reportFile != null){
+            saveResultsToFile(results, reportFile);
+        }
+        return results;
+    }
+
+    public static List<SweepResult> runConfigurations(List<TrainingSettings> configurations, List<DataSample> trainingSet,
+            List<DataSample> testingSet, int threads) throws IOException{
+    /*
+    Trains and scores every configuration on a fixed size thread pool.  The
+    datasets are only read, so every job shares the same sample objects.
+
+    Parameters:
+    - List<TrainingSettings> configurations: settings for each run
+    - List<DataSample> trainingSet: dataset every net is trained on
+    - List<DataSample> testingSet: dataset every trained net is scored on
+    - int threads: number of worker threads
+
+    Return:
+    List of SweepResults in configuration order
+    */
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<SweepResult>> futures = new ArrayList<>();
+            for (TrainingSettings settings : configurations){
+                settings.dataset = trainingSet;
+                futures.add(pool.submit(() -> runConfiguration(settings, testingSet)));
+            }
+            List<SweepResult> results = new ArrayList<>();
+            for (Future<SweepResult> future : futures){
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IOException("sweep interrupted", e);
+        } catch (ExecutionException e){
+            throw new IOException("sweep job failed: " + e.getCause(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    public static SweepResult runConfiguration(TrainingSettings settings, List<DataSample> testingSet){
+    /*
+    Trains one net in memory and scores it on the testing set
+
+    Parameters:
+    - TrainingSettings settings: settings for this run, with dataset set
+    - List<DataSample> testingSet: dataset to score the trained net on
+
+    Return:
+    SweepResult for this configuration
+    */
+        long start = System.nanoTime();
+        PerceptronModel model = FlatNeuralNet.createModel(settings.dataset.get(0), settings);
+        int epochs = FlatNeuralNet.trainModel(model, settings.dataset, settings);
+        long trainNanos = System.nanoTime() - start;
+
+        SweepResult result = new SweepResult();
+        result.settings = settings;
+        result.epochs = epochs;
+        result.converged = FlatNeuralNet.isConverged(model, settings.dataset);
+        result.accuracy = FlatNeuralNet.accuracy(model, testingSet);
+        result.trainMillis = trainNanos / 1_000_000.0;
+        result.wallMillis = (System.nanoTime() - start) / 1_000_000.0;
+        return result;
+    }
+
+    public static List<TrainingSettings> buildConfigurations(CommandLineOptions spec){
+    /*
+    Expands a sweep spec into one TrainingSettings per configuration
+
+    Parameters:
+    - CommandLineOptions spec: parsed spec file
+
+    Return:
+    List of TrainingSettings, without datasets
+    */
+        int maxEpochs = spec.getInt("maxEpochs", 1000);
+        String mode = spec.getString("mode", "grid");
+        List<TrainingSettings> configurations = new ArrayList<>();
+
+        if (mode.equals("random")){
+            require(spec, "samples");
+            int samples = spec.getInt("samples", 0);
+            if (samples < 1){
+                throw new IllegalArgumentException("samples must be at least 1");
+            }
+            Random random = new Random(spec.getLong("seed", 0L));
+            for (int n = 0; n < samples; n++){
+                TrainingSettings settings = new TrainingSettings();
+                settings.maxEpochs = maxEpochs;
+                settings.learningRate = sampleValue("learningRate", spec.getString("learningRate", "0.5"), random);
+                settings.thetaThreshold = sampleValue("thetaThreshold", spec.getString("thetaThreshold", "0.0"), random);
+                settings.weightChangeThreshold = sampleValue("weightChangeThreshold", spec.getString("weightChangeThreshold", "0.0001"), random);
+                String[] zeroChoices = splitList(spec.getString("setWeightsToZero", "true"));
+                settings.setWeightsToZero = Boolean.parseBoolean(zeroChoices[random.nextInt(zeroChoices.length)]);
+                configurations.add(settings);
+            }
+            return configurations;
+        }
+        if (!mode.equals("grid")){
+            throw new IllegalArgumentException("unknown sweep mode: " + mode);
+        }
+
+        for (String zero : splitList(spec.getString("setWeightsToZero", "true"))){
+            for (String alpha : splitList(spec.getString("learningRate", "0.5"))){
+                for (String theta : splitList(spec.getString("thetaThreshold", "0.0"))){
+                    for (String change : splitList(spec.getString("weightChangeThreshold", "0.0001"))){
+                        TrainingSettings settings = new TrainingSettings();
+                        settings.maxEpochs = maxEpochs;
+                        settings.setWeightsToZero = Boolean.parseBoolean(zero);
+                        settings.learningRate = parseNumber("learningRate", alpha);
+                        settings.thetaThreshold = parseNumber("thetaThreshold", theta);
+                        settings.weightChangeThreshold = parseNumber("weightChangeThreshold", change);
+                        configurations.add(settings);
+                    }
+                }
+            }
+        }
+        return configurations;
+    }
+
+    // Draws a value from "low .. high" uniformly, or picks one entry of a comma separated list
+    private static double sampleValue(String key, String value, Random random){
+        int rangeIndex = value.indexOf("..");
+        if (rangeIndex >= 0){
+            double low = parseNumber(key, value.substring(0, rangeIndex));
+            double high = parseNumber(key, value.substring(rangeIndex + 2));
+            return low + (high - low) * random.nextDouble();
+        }
+        String[] choices = splitList(value);
+        return parseNumber(key, choices[random.nextInt(choices.length)]);
+    }
+
+    private static double parseNumber(String key, String value){
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e){
+            throw new IllegalArgumentException("Invalid value " + key + " = " + value.trim() + ", expected a number");
+        }
+    }
+
+    private static String[] splitList(String value){
+        return value.trim().split("\\s*,\\s*");
+    }
+
+    private static String require(CommandLineOptions spec, String key){
+        String value = spec.getString(key, null);
+        if (value == null){
+            throw new IllegalArgumentException("sweep spec is missing '" + key + "'");
+        }
+        return value;
+    }
+
+    // Checks the spec's keys and values the same way as command line options
+    private static CommandLineOptions specOptions(Map<String, String> spec){
+        List<String> options = new ArrayList<>();
+        for (Map.Entry<String, String> entry : spec.entrySet()){
+            options.add(entry.getKey() + "=" + entry.getValue());
+        }
+        return CommandLineOptions.parse(options.toArray(new String[0]), 0, false, SPEC_KEYS);
+    }
+
+    public static Map<String, String> readSpec(String specFileName) throws IOException{
+    /*
+    Reads "key = value" lines from a spec file, ignoring blank lines and comments
+
+    Parameters:
+    - String specFileName: path of the spec file
+
+    Return:
+    Map of keys to their raw values
+    */
+        Map<String, String> spec = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(specFileName))){
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null){
+                lineNumber++;
+                int commentIndex = line.indexOf('#');
+                if (commentIndex >= 0){
+                    line = line.substring(0, commentIndex);
+                }
+                line = line.trim();
+                if (line.isEmpty()){
+                    continue;
+                }
+                int equalsIndex = line.indexOf('=');
+                if (equalsIndex < 0){
+                    throw new IOException(specFileName + ":" + lineNumber + ": expected key = value");
+                }
+                spec.put(line.substring(0, equalsIndex).trim(), line.substring(equalsIndex + 1).trim());
+            }
+        }
+        return spec;
+    }
+
+    public static void printResults(List<SweepResult> results){
+    /*
+    Prints one line per configuration
+
+    Parameters:
+    - List<SweepResult> results: results to print
+    */
+        System.out.println(String.format("%-4s %-8s %-10s %-12s %-6s %-7s %-10s %-9s %-10s",
+            "#", "alpha", "theta", "change", "zero", "epochs", "converged", "accuracy", "wall ms"));
+        for (int i = 0; i < results.size(); i++){
+            SweepResult result = results.get(i);
+            TrainingSettings settings = result.settings;
+            System.out.println(String.format("%-4d %-8.4f %-10.4f %-12.6g %-6s %-7d %-10s %-9.4f %-10.2f",
+                i, settings.learningRate, settings.thetaThreshold, settings.weightChangeThreshold,
+                settings.setWeightsToZero, result.epochs, result.converged, result.accuracy, result.wallMillis));
+        }
+    }
+
+    public static void saveResultsToFile(List<SweepResult> results, String reportFileName){
+    /*
+    Saves the sweep results as CSV
+
+    Parameters:
+    - List<SweepResult> results: results to save
+    - String reportFileName: path of the CSV file
+    */
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(reportFileName))){
+            writer.write("learningRate,thetaThreshold,weightChangeThreshold,setWeightsToZero,epochs,converged,accuracy,trainMillis,wallMillis");
+            writer.newLine();
+            for (SweepResult result : results){
+                TrainingSettings settings = result.settings;
+                writer.write(settings.learningRate + "," + settings.thetaThreshold + "," + settings.weightChangeThreshold + ","
+                    + settings.setWeightsToZero + "," + result.epochs + "," + result.converged + "," + result.accuracy + ","
+                    + result.trainMillis + "," + result.wallMillis);
+                writer.newLine();
+            }
+            System.out.println("Sweep results saved successfully to " + reportFileName + "\n");
+        } catch (IOException e){
+            e.printStackTrace();
+        }
+    }
+
+    // Data structure to hold the outcome of one configuration
+    public static class SweepResult {
+        TrainingSettings settings;
+        int epochs;
+        boolean converged;
+        double accuracy;
+        double trainMillis;
+        double wallMillis;
+    }
+}
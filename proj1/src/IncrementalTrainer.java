@@ -0,0 +1,109 @@
+/*
+ * This program implements warm-start and incremental training.  Training can
+ * start from an existing trained weights file instead of zero or random
+ * weights, and can train on a chosen subset of the dataset, such as samples
+ * appended since the weights were trained.
+ *
+ * The subset is trained until it converges.  Then the rest of the dataset is
+ * only classified, which needs no weight updates, and any sample that is now
+ * misclassified joins the subset for another round.  Training stops once the
+ * whole dataset is classified correctly, no sample is left to add, or the
+ * maximum number of epochs has been used up across all rounds.  Epochs are
+ * therefore spent on the new samples and the old samples they disturbed, not
+ * on the whole corpus.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+public class IncrementalTrainer {
+    public static PerceptronModel loadInitialModel(DataSample firstSample, TrainingSettings netTrainingSettings) throws IOException{
+    /*
+    Loads the weights file training starts from and checks it fits the dataset
+
+    Parameters:
+    - DataSample firstSample: sample used to check the input and output layer sizes
+    - TrainingSettings netTrainingSettings: settings holding the weights file and theta
+
+    Return:
+    PerceptronModel holding the loaded weights, using the theta of the settings
+    */
+        String weightsFileName = netTrainingSettings.initialWeightsFilePath;
+        PerceptronModel model = PerceptronModel.load(weightsFileName);
+        int numInputNodes = firstSample.getRowDimension() * firstSample.getColumnDimension();
+        if (model.numInputNodes != numInputNodes || model.numOutputNodes != firstSample.getOutputDimension()){
+            throw new IOException(weightsFileName + " has " + model.numInputNodes + " inputs and " + model.numOutputNodes
+                + " outputs but the dataset has " + numInputNodes + " and " + firstSample.getOutputDimension());
+        }
+        model.thetaThreshold = netTrainingSettings.thetaThreshold;
+        return model;
+    }
+
+    public static int trainIncremental(PerceptronModel model, List<DataSample> dataset, TrainingSettings netTrainingSettings, TrainingTelemetry telemetry){
+    /*
+    Trains a model on the subset of the dataset chosen by the settings, adding
+    samples from the rest of the dataset whenever they become misclassified
+
+    Parameters:
+    - PerceptronModel model: model to train in place, usually warm-started
+    - List<DataSample> dataset: whole dataset
+    - TrainingSettings netTrainingSettings: settings holding the subset, learning rate, thresholds and max epochs
+    - TrainingTelemetry telemetry: telemetry to record, or null for none
+
+    Return:
+    - int representing number of epochs of training occured, over all rounds
+    */
+        int[] subsetIndexes = DatasetSubset.parseSampleNumbers(netTrainingSettings.trainingSubset, dataset.size());
+        DatasetSubset workingSet = new DatasetSubset(dataset, subsetIndexes);
+        boolean[] inWorkingSet = new boolean[dataset.size()];
+        for (int index : subsetIndexes){
+            inWorkingSet[index] = true;
+        }
+
+        int[] yOut = new int[model.numOutputNodes];
+        int epochNum = 0;
+        while (epochNum < netTrainingSettings.maxEpochs){
+            if (workingSet.size() > 0){
+                epochNum += FlatNeuralNet.trainModel(model, workingSet, roundSettings(netTrainingSettings, epochNum), telemetry);
+            }
+
+            // Check the samples outside the working set and pull in any the round disturbed
+            int added = 0;
+            for (int index = 0; index < dataset.size(); index++){
+                if (inWorkingSet[index]){
+                    continue;
+                }
+                DataSample sample = dataset.get(index);
+                FlatNeuralNet.classify(model, sample, yOut);
+                if (!Arrays.equals(yOut, sample.getOutputVector())){
+                    workingSet.addIndex(index);
+                    inWorkingSet[index] = true;
+                    added++;
+                }
+            }
+            if (added == 0){
+                break;
+            }
+        }
+        return epochNum;
+    }
+
+    // Settings for one round: the same rule, the epochs left, and no subset so the round trains its samples directly
+    private static TrainingSettings roundSettings(TrainingSettings netTrainingSettings, int epochsUsed){
+        TrainingSettings round = new TrainingSettings();
+        round.learningRate = netTrainingSettings.learningRate;
+        round.thetaThreshold = netTrainingSettings.thetaThreshold;
+        round.weightChangeThreshold = netTrainingSettings.weightChangeThreshold;
+        round.trainInParallel = netTrainingSettings.trainInParallel;
+        round.maxEpochs = netTrainingSettings.maxEpochs - epochsUsed;
+        return round;
+    }
+}
@@ -0,0 +1,547 @@
+/*
+ * This program implements a non-interactive runner for train and test jobs.
+ * It reads a job manifest and runs every job in one JVM with a configurable
+ * number of jobs at a time, parsing each data file and weights file only once
+ * no matter how many jobs use it, then prints the time each job took.
+ *
+ * The manifest holds "key = value" lines ('#' starts a comment).  Lines before
+ * the first job set options for the whole run, and each [train] or [test] line
+ * starts a new job whose keys are the fields of TrainingSettings or
+ * TestingSettings:
+ *     concurrency = 4
+ *     modelCacheMegabytes = 256                   (optional, memory budget of the ModelCache)
+ *
+ *     [train]
+ *     name = zero weights                          (optional)
+ *     trainingDataFilePath = proj1/Sample Training Dataset.txt
+ *     setWeightsToZero = true
+ *     maxEpochs = 100
+ *     trainedWeightsFile = proj1/trainedWeights.txt
+ *     learningRate = 0.5
+ *     thetaThreshold = 0.0
+ *     weightChangeThreshold = 0.001
+ *     trainInParallel = false                     (optional)
+ *     telemetryFilePath = proj1/telemetry.csv     (optional, .json for JSON lines)
+ *     initialWeightsFilePath = proj1/old.txt      (optional, warm start)
+ *     trainingSubset = 22-                        (optional, sample numbers to train on)
+ *     kernel = rbf:0.05                           (optional, trains a DualPerceptron)
+ *     columnar = false                            (optional, trains off-heap, see ColumnarDataset)
+ *     trainingAlgorithm = pocket                  (optional, perceptron, pocket, averaged or minibatch, see TrainingStrategy)
+ *     shuffleEpochs = true                        (optional, new sample order every epoch)
+ *     shuffleSeed = 42                            (optional)
+ *     batchSize = 32                              (optional, minibatch only)
+ *     targetAccuracy = 0.95                       (optional, stops once training accuracy reaches it)
+ *
+ *     [test]
+ *     trainedWeightsFilePath = proj1/trainedWeights.txt
+ *     testingDataFilePath = proj1/LNITests.txt
+ *     testingResultsOutputFilePath = proj1/LNIResults.txt
+ *     streamResults = false                       (optional, see StreamingTester)
+ *     quantization = int8                         (optional, float32 or int8, see QuantizedModel)
+ *     columnar = false                            (optional, tests off-heap, see ColumnarDataset)
+ *     resultFormat = human                        (optional, human, csv, binary or summary, see ResultWriter)
+ *
+ * All train jobs run before any test job, so a test can use weights trained
+ * earlier in the same manifest.  Those weights are handed over in memory.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class JobRunner {
+    private final Map<String, CompletableFuture<List<DataSample>>> datasets = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<ColumnarDataset>> columnarDatasets = new ConcurrentHashMap<>();
+    private ModelCache models = new ModelCache(ModelCache.DEFAULT_BUDGET_BYTES);
+
+    public static void main(String[] args){
+        if (args.length != 1){
+            System.out.println("Usage: JobRunner <job manifest>");
+            return;
+        }
+        try {
+            new JobRunner().run(args[0]);
+        } catch (IOException e){
+            System.out.println("Error running jobs: " + e.getMessage());
+        }
+    }
+
+    public List<Job> run(String manifestFileName) throws IOException{
+    /*
+    Runs every job in a manifest and prints a summary
+
+    Parameters:
+    - String manifestFileName: path of the job manifest
+
+    Return:
+    List of Jobs with their timings filled in
+    */
+        Map<String, String> options = new HashMap<>();
+        List<Job> jobs = readManifest(manifestFileName, options);
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        if (options.containsKey("modelCacheMegabytes")){
+            models = new ModelCache(Long.parseLong(options.get("modelCacheMegabytes")) << 20);
+        }
+
+        List<Job> trainJobs = new ArrayList<>();
+        List<Job> testJobs = new ArrayList<>();
+        for (Job job : jobs){
+            (job.training ? trainJobs : testJobs).add(job);
+        }
+
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        try {
+            runAll(pool, trainJobs);
+            runAll(pool, testJobs);
+        } finally {
+            pool.shutdownNow();
+        }
+        long totalMillis = (System.nanoTime() - start) / 1_000_000;
+
+        printSummary(jobs);
+        System.out.println("Ran " + jobs.size() + " jobs with concurrency " + concurrency + " in " + totalMillis + " ms");
+        System.out.println(models.statistics());
+        return jobs;
+    }
+
+    private void runAll(ExecutorService pool, List<Job> jobs) throws IOException{
+        List<Future<?>> futures = new ArrayList<>();
+        for (Job job : jobs){
+            futures.add(pool.submit(() -> runJob(job)));
+        }
+        for (Future<?> future : futures){
+            try {
+                future.get();
+            } catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+                throw new IOException("interrupted while running jobs", e);
+            } catch (ExecutionException e){
+                throw new IOException("job failed: " + e.getCause(), e.getCause());
+            }
+        }
+    }
+
+    private void runJob(Job job){
+        long start = System.nanoTime();
+        try {
+            if (job.training){
+                runTrainJob(job, start);
+            } else {
+                runTestJob(job, start);
+            }
+        } catch (IOException | RuntimeException e){
+            job.error = e.toString();
+        }
+        job.totalMillis = (System.nanoTime() - start) / 1_000_000.0;
+    }
+
+    private void runTrainJob(Job job, long start) throws IOException{
+        TrainingSettings settings = job.trainingSettings;
+        if (settings.columnar){
+            runColumnarTrainJob(job, start);
+            return;
+        }
+        settings.dataset = dataset(settings.trainingDataFilePath);
+        long loaded = System.nanoTime();
+        job.loadMillis = (loaded - start) / 1_000_000.0;
+
+        if (settings.kernel != null){
+            runDualTrainJob(job, settings, loaded);
+            return;
+        }
+        if (TrainingStrategy.isSelected(settings)){
+            runStrategyTrainJob(job, settings, loaded);
+            return;
+        }
+        PerceptronModel model = FlatNeuralNet.initialModel(settings.dataset.get(0), settings);
+        // Telemetry failures are reported but never fail the job, as in FlatNeuralNet.train
+        TrainingTelemetry telemetry = FlatNeuralNet.openTelemetry(settings.telemetryFilePath, model.numOutputNodes, loaded - start);
+        long trained;
+        long saveNanos;
+        try {
+            job.epochs = FlatNeuralNet.trainModel(model, settings.dataset, settings, telemetry);
+            trained = System.nanoTime();
+            job.accuracy = FlatNeuralNet.accuracy(model, settings.dataset);
+            job.runMillis = (System.nanoTime() - loaded) / 1_000_000.0;
+            long saveStart = System.nanoTime();
+            FlatNeuralNet.saveModel(model, settings.trainedWeightsFile);
+            saveNanos = System.nanoTime() - saveStart;
+        } catch (IOException | RuntimeException e){
+            FlatNeuralNet.closeTelemetry(telemetry);
+            throw e;
+        }
+        models.put(settings.trainedWeightsFile, model);
+        FlatNeuralNet.finishTelemetry(telemetry, trained - loaded, saveNanos);
+    }
+
+    private void runColumnarTrainJob(Job job, long start) throws IOException{
+        TrainingSettings settings = job.trainingSettings;
+        settings.columnarDataset = columnarDataset(settings.trainingDataFilePath);
+        long loaded = System.nanoTime();
+        job.loadMillis = (loaded - start) / 1_000_000.0;
+
+        ColumnarDataset dataset = settings.columnarDataset;
+        PerceptronModel model = FlatNeuralNet.initialModel(dataset.get(0, dataset.newView()), settings);
+        job.epochs = FlatNeuralNet.trainModel(model, dataset, settings);
+        job.accuracy = FlatNeuralNet.accuracy(model, dataset);
+        job.runMillis = (System.nanoTime() - loaded) / 1_000_000.0;
+        FlatNeuralNet.saveModel(model, settings.trainedWeightsFile);
+        models.put(settings.trainedWeightsFile, model);
+    }
+
+    private void runStrategyTrainJob(Job job, TrainingSettings settings, long loaded) throws IOException{
+        PerceptronModel model = FlatNeuralNet.initialModel(settings.dataset.get(0), settings);
+        TrainingTelemetry telemetry = FlatNeuralNet.openTelemetry(settings.telemetryFilePath, model.numOutputNodes, 0);
+        long saveNanos;
+        try {
+            job.strategyResult = TrainingStrategy.train(model, settings.dataset, settings, telemetry);
+            job.epochs = job.strategyResult.epochs;
+            job.accuracy = job.strategyResult.accuracy;
+            job.runMillis = (System.nanoTime() - loaded) / 1_000_000.0;
+            long saveStart = System.nanoTime();
+            FlatNeuralNet.saveModel(model, settings.trainedWeightsFile);
+            saveNanos = System.nanoTime() - saveStart;
+        } catch (IOException | RuntimeException e){
+            FlatNeuralNet.closeTelemetry(telemetry);
+            throw e;
+        }
+        models.put(settings.trainedWeightsFile, model);
+        FlatNeuralNet.finishTelemetry(telemetry, (long) (job.strategyResult.trainMillis * 1_000_000), saveNanos);
+    }
+
+    private void runDualTrainJob(Job job, TrainingSettings settings, long loaded) throws IOException{
+        DualPerceptron net = new DualPerceptron(Kernel.parse(settings.kernel), settings.dataset, settings.learningRate, settings.thetaThreshold);
+        job.epochs = net.train(settings.maxEpochs, settings.weightChangeThreshold);
+        job.accuracy = net.accuracy(settings.dataset);
+        job.runMillis = (System.nanoTime() - loaded) / 1_000_000.0;
+        // Only a linear kernel has weights to save, other kernels leave no weights file for test jobs
+        if (net.getKernel().isLinear()){
+            PerceptronModel model = net.toPrimalModel();
+            FlatNeuralNet.saveModel(model, settings.trainedWeightsFile);
+            models.put(settings.trainedWeightsFile, model);
+        }
+    }
+
+    private void runTestJob(Job job, long start) throws IOException{
+        TestingSettings settings = job.testingSettings;
+        if (settings.streamResults){
+            runStreamingTestJob(job, start);
+            return;
+        }
+        if (settings.columnar){
+            runColumnarTestJob(job, start);
+            return;
+        }
+        settings.dataset = dataset(settings.testingDataFilePath);
+        loadTestModel(settings);
+        long loaded = System.nanoTime();
+        job.loadMillis = (loaded - start) / 1_000_000.0;
+
+        FlatNeuralNet.test(settings);
+        if (settings.quantizedModel != null){
+            job.accuracy = settings.quantizedModel.accuracy(settings.dataset);
+        } else {
+            job.accuracy = FlatNeuralNet.accuracy(settings.trainedModel, settings.dataset);
+        }
+        job.runMillis = (System.nanoTime() - loaded) / 1_000_000.0;
+    }
+
+    private void runStreamingTestJob(Job job, long start) throws IOException{
+        TestingSettings settings = job.testingSettings;
+        settings.trainedModel = model(settings.trainedWeightsFilePath);
+        long loaded = System.nanoTime();
+        job.loadMillis = (loaded - start) / 1_000_000.0;
+
+        // The test file is read while it is scored, so its parse time is part of the run time
+        StreamingTester tester = new StreamingTester(settings.trainedModel);
+        int samples = tester.run(settings.testingDataFilePath, settings.testingResultsOutputFilePath, settings.resultFormat);
+        job.accuracy = samples == 0 ? 0.0 : (double) tester.getSamplesCorrect() / samples;
+        job.runMillis = (System.nanoTime() - loaded) / 1_000_000.0;
+    }
+
+    private void runColumnarTestJob(Job job, long start) throws IOException{
+        TestingSettings settings = job.testingSettings;
+        settings.columnarDataset = columnarDataset(settings.testingDataFilePath);
+        loadTestModel(settings);
+        long loaded = System.nanoTime();
+        job.loadMillis = (loaded - start) / 1_000_000.0;
+
+        FlatNeuralNet.test(settings);
+        if (settings.quantizedModel != null){
+            job.accuracy = settings.quantizedModel.accuracy(settings.columnarDataset);
+        } else {
+            job.accuracy = FlatNeuralNet.accuracy(settings.trainedModel, settings.columnarDataset);
+        }
+        job.runMillis = (System.nanoTime() - loaded) / 1_000_000.0;
+    }
+
+    // Loads the model a test job scores with, keeping only the quantized form when the job asks for one
+    private void loadTestModel(TestingSettings settings) throws IOException{
+        if (settings.quantization != null){
+            settings.quantizedModel = models.getQuantized(settings.trainedWeightsFilePath, settings.quantization);
+            settings.thetaThreshold = settings.quantizedModel.thetaThreshold;
+        } else {
+            settings.trainedModel = model(settings.trainedWeightsFilePath);
+            settings.thetaThreshold = settings.trainedModel.thetaThreshold;
+        }
+    }
+
+    public List<DataSample> dataset(String dataFileName) throws IOException{
+    /*
+    Loads a data file once and shares the packed samples with every job that asks for it
+
+    Parameters:
+    - String dataFileName: File name of data file to be loaded
+
+    Return:
+    List of DataSamples, which callers must not modify
+    */
+        return loadOnce(datasets, dataFileName, () -> DatasetCache.load(dataFileName, true));
+    }
+
+    public ColumnarDataset columnarDataset(String dataFileName) throws IOException{
+    /*
+    Compiles and maps a data file once and shares the columnar dataset with
+    every job that asks for it, so jobs on the same file never compile it at
+    the same time
+
+    Parameters:
+    - String dataFileName: File name of data file, or of a compiled dataset
+
+    Return:
+    ColumnarDataset, from which each job reads through its own views
+    */
+        return loadOnce(columnarDatasets, dataFileName, () -> ColumnarDataset.open(dataFileName));
+    }
+
+    // Runs the loader for the first job to ask for a key, while later jobs wait on its future
+    private static <T> T loadOnce(Map<String, CompletableFuture<T>> loads, String key, Loader<T> loader) throws IOException{
+        CompletableFuture<T> created = new CompletableFuture<>();
+        CompletableFuture<T> existing = loads.putIfAbsent(key, created);
+        if (existing == null){
+            try {
+                created.complete(loader.load());
+            } catch (IOException | RuntimeException e){
+                created.completeExceptionally(e);
+            }
+            existing = created;
+        }
+        return join(existing);
+    }
+
+    private interface Loader<T> {
+        T load() throws IOException;
+    }
+
+    public PerceptronModel model(String weightsFileName) throws IOException{
+    /*
+    Loads a weights file through the run's model cache, or reuses the model a
+    train job saved to it
+
+    Parameters:
+    - String weightsFileName: path of the weights file
+
+    Return:
+    PerceptronModel, which callers must not modify
+    */
+        return models.get(weightsFileName);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) throws IOException{
+        try {
+            return future.get();
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while loading", e);
+        } catch (ExecutionException e){
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException){
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    public static List<Job> readManifest(String manifestFileName, Map<String, String> options) throws IOException{
+    /*
+    Reads the jobs of a manifest file
+
+    Parameters:
+    - String manifestFileName: path of the job manifest
+    - Map<String, String> options: filled with the options set before the first job
+
+    Return:
+    List of Jobs in manifest order
+    */
+        List<Job> jobs = new ArrayList<>();
+        Map<String, String> fields = options;
+        String kind = null;
+        int jobLine = 0;
+        try (BufferedReader reader = new BufferedReader(new FileReader(manifestFileName))){
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null){
+                lineNumber++;
+                int commentIndex = line.indexOf('#');
+                if (commentIndex >= 0){
+                    line = line.substring(0, commentIndex);
+                }
+                line = line.trim();
+                if (line.isEmpty()){
+                    continue;
+                }
+                if (line.equals("[train]") || line.equals("[test]")){
+                    if (kind != null){
+                        jobs.add(createJob(manifestFileName, jobLine, kind, fields));
+                    }
+                    kind = line;
+                    jobLine = lineNumber;
+                    fields = new HashMap<>();
+                    continue;
+                }
+                int equalsIndex = line.indexOf('=');
+                if (equalsIndex < 0){
+                    throw new IOException(manifestFileName + ":" + lineNumber + ": expected key = value or a [train] or [test] line");
+                }
+                fields.put(line.substring(0, equalsIndex).trim(), line.substring(equalsIndex + 1).trim());
+            }
+        }
+        if (kind != null){
+            jobs.add(createJob(manifestFileName, jobLine, kind, fields));
+        }
+        return jobs;
+    }
+
+    private static Job createJob(String manifestFileName, int lineNumber, String kind, Map<String, String> fields) throws IOException{
+        Job job = new Job();
+        job.training = kind.equals("[train]");
+        job.name = fields.getOrDefault("name", manifestFileName + ":" + lineNumber);
+        try {
+            if (job.training){
+                TrainingSettings settings = new TrainingSettings();
+                settings.trainingDataFilePath = required(fields, "trainingDataFilePath");
+                settings.setWeightsToZero = Boolean.parseBoolean(required(fields, "setWeightsToZero"));
+                settings.maxEpochs = Integer.parseInt(required(fields, "maxEpochs"));
+                settings.trainedWeightsFile = required(fields, "trainedWeightsFile");
+                settings.learningRate = Double.parseDouble(required(fields, "learningRate"));
+                settings.thetaThreshold = Double.parseDouble(required(fields, "thetaThreshold"));
+                settings.weightChangeThreshold = Double.parseDouble(required(fields, "weightChangeThreshold"));
+                settings.trainInParallel = Boolean.parseBoolean(fields.getOrDefault("trainInParallel", "false"));
+                settings.telemetryFilePath = fields.get("telemetryFilePath");
+                settings.initialWeightsFilePath = fields.get("initialWeightsFilePath");
+                settings.trainingSubset = fields.get("trainingSubset");
+                settings.kernel = fields.get("kernel");
+                settings.columnar = Boolean.parseBoolean(fields.getOrDefault("columnar", "false"));
+                if (fields.containsKey("trainingAlgorithm")){
+                    settings.trainingAlgorithm = TrainingStrategy.Algorithm.parse(fields.get("trainingAlgorithm"));
+                }
+                settings.shuffleEpochs = Boolean.parseBoolean(fields.getOrDefault("shuffleEpochs", "false"));
+                settings.shuffleSeed = Long.parseLong(fields.getOrDefault("shuffleSeed", "42"));
+                settings.batchSize = Integer.parseInt(fields.getOrDefault("batchSize", String.valueOf(TrainingStrategy.DEFAULT_BATCH_SIZE)));
+                settings.targetAccuracy = Double.parseDouble(fields.getOrDefault("targetAccuracy", "0"));
+                if (TrainingStrategy.isSelected(settings) && (settings.kernel != null || settings.trainingSubset != null
+                        || settings.trainInParallel || settings.columnar)){
+                    throw new IllegalArgumentException("trainingAlgorithm, shuffleEpochs and targetAccuracy cannot be used with kernel,"
+                        + " trainingSubset, trainInParallel or columnar");
+                }
+                if (settings.telemetryFilePath != null && settings.trainInParallel){
+                    throw new IllegalArgumentException("telemetryFilePath cannot be used with trainInParallel, as telemetry records whole-net epochs");
+                }
+                if (settings.columnar && (settings.kernel != null || settings.trainingSubset != null
+                        || settings.telemetryFilePath != null || settings.trainInParallel)){
+                    throw new IllegalArgumentException("columnar training cannot be used with kernel, trainingSubset, telemetryFilePath or trainInParallel");
+                }
+                job.trainingSettings = settings;
+            } else {
+                TestingSettings settings = new TestingSettings();
+                settings.trainedWeightsFilePath = required(fields, "trainedWeightsFilePath");
+                settings.testingDataFilePath = required(fields, "testingDataFilePath");
+                settings.testingResultsOutputFilePath = required(fields, "testingResultsOutputFilePath");
+                settings.streamResults = Boolean.parseBoolean(fields.getOrDefault("streamResults", "false"));
+                if (fields.containsKey("quantization")){
+                    if (settings.streamResults){
+                        throw new IllegalArgumentException("quantization cannot be used with streamResults");
+                    }
+                    settings.quantization = QuantizedModel.Precision.parse(fields.get("quantization"));
+                }
+                if (fields.containsKey("resultFormat")){
+                    settings.resultFormat = ResultWriter.Format.parse(fields.get("resultFormat"));
+                }
+                settings.columnar = Boolean.parseBoolean(fields.getOrDefault("columnar", "false"));
+                if (settings.columnar && settings.streamResults){
+                    throw new IllegalArgumentException("columnar cannot be used with streamResults");
+                }
+                job.testingSettings = settings;
+            }
+        } catch (IllegalArgumentException e){
+            throw new IOException(manifestFileName + ":" + lineNumber + ": " + e.getMessage());
+        }
+        return job;
+    }
+
+    private static String required(Map<String, String> fields, String key){
+        String value = fields.get(key);
+        if (value == null){
+            throw new IllegalArgumentException("job is missing '" + key + "'");
+        }
+        return value;
+    }
+
+    public static void printSummary(List<Job> jobs){
+    /*
+    Prints one line per job with its timings
+
+    Parameters:
+    - List<Job> jobs: jobs that have been run
+    */
+        System.out.println(String.format("%-30s %-6s %-10s %-10s %-10s %-7s %-9s", "job", "kind", "load ms", "run ms", "total ms", "epochs", "accuracy"));
+        for (Job job : jobs){
+            if (job.error != null){
+                System.out.println(String.format("%-30s %-6s failed: %s", job.name, job.training ? "train" : "test", job.error));
+                continue;
+            }
+            System.out.println(String.format("%-30s %-6s %-10.2f %-10.2f %-10.2f %-7s %-9.4f", job.name, job.training ? "train" : "test",
+                job.loadMillis, job.runMillis, job.totalMillis, job.training ? String.valueOf(job.epochs) : "-", job.accuracy));
+            TrainingStrategy.Result result = job.strategyResult;
+            if (result != null && job.trainingSettings.targetAccuracy > 0.0){
+                System.out.println(result.targetEpoch > 0
+                    ? String.format("%-30s reached target accuracy %.4f at epoch %d after %.2f ms", "", job.trainingSettings.targetAccuracy,
+                        result.targetEpoch, result.targetMillis)
+                    : String.format("%-30s did not reach target accuracy %.4f in %d epochs", "", job.trainingSettings.targetAccuracy, result.epochs));
+            }
+        }
+    }
+
+    // Data structure to hold one job and its outcome
+    public static class Job {
+        String name;
+        boolean training;
+        TrainingSettings trainingSettings;
+        TestingSettings testingSettings;
+        int epochs;
+        TrainingStrategy.Result strategyResult;
+        double accuracy;
+        double loadMillis;
+        double runMillis;
+        double totalMillis;
+        String error;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * This program defines the kernels the dual-form perceptron can use.  Every
+ * kernel is written in terms of the dot product and squared norms of two
+ * samples, so the Gram matrix can be built from dot products alone, which for
+ * packed samples are just XOR and bit counts.
+ *
+ * Kernel specs, as given in the training settings:
+ *     linear
+ *     polynomial:<degree>[:<coef>]     (dot + coef) ^ degree, coef defaults to 1
+ *     rbf:<gamma>                      exp(-gamma * |a - b|^2)
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+public interface Kernel {
+    double compute(double dot, double normA, double normB);
+
+    // Only the linear kernel has an equivalent weight per input, which the weights file format needs
+    default boolean isLinear(){
+        return false;
+    }
+
+    static Kernel linear(){
+        return new Kernel(){
+            @Override
+            public double compute(double dot, double normA, double normB){
+                return dot;
+            }
+
+            @Override
+            public boolean isLinear(){
+                return true;
+            }
+
+            @Override
+            public String toString(){
+                return "linear";
+            }
+        };
+    }
+
+    static Kernel polynomial(int degree, double coef){
+        return new Kernel(){
+            @Override
+            public double compute(double dot, double normA, double normB){
+                return Math.pow(dot + coef, degree);
+            }
+
+            @Override
+            public String toString(){
+                return "polynomial:" + degree + ":" + coef;
+            }
+        };
+    }
+
+    static Kernel rbf(double gamma){
+        return new Kernel(){
+            @Override
+            public double compute(double dot, double normA, double normB){
+                return Math.exp(-gamma * (normA + normB - 2.0 * dot));
+            }
+
+            @Override
+            public String toString(){
+                return "rbf:" + gamma;
+            }
+        };
+    }
+
+    static Kernel parse(String spec){
+    /*
+    Creates a kernel from its spec
+
+    Parameters:
+    - String spec: kernel spec such as linear, polynomial:2 or rbf:0.05
+
+    Return:
+    Kernel described by the spec
+    */
+        String usage = "expected linear, polynomial:<degree>[:<coef>] or rbf:<gamma>";
+        String[] parts = spec.trim().split(":");
+        try {
+            if (parts[0].equals("linear") && parts.length == 1){
+                return linear();
+            }
+            if (parts[0].equals("polynomial") && (parts.length == 2 || parts.length == 3)){
+                return polynomial(Integer.parseInt(parts[1]), parts.length > 2 ? Double.parseDouble(parts[2]) : 1.0);
+            }
+            if (parts[0].equals("rbf") && parts.length == 2){
+                return rbf(Double.parseDouble(parts[1]));
+            }
+        } catch (NumberFormatException e){
+            throw new IllegalArgumentException("invalid kernel " + spec + ", " + usage);
+        }
+        throw new IllegalArgumentException("invalid kernel " + spec + ", " + usage);
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * This program implements a registry of the labels a net can output.  Labels
+ * are discovered from datasets (each sample's output vector and label line)
+ * instead of being fixed, and every output vector is looked up in constant
+ * time: the vector's -1/+1 values are read as the bits of a key, and the key
+ * is found in an open-addressing hash table.  A lookup never allocates, and
+ * lookups may run on many threads at once as long as nothing is being added.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class LabelRegistry {
+    // Shared registry of the labels of NeuralNet.Label, in the enum's order
+    static final LabelRegistry DEFAULT = defaults();
+
+    private final List<String> names = new ArrayList<>();
+    private final List<int[]> vectors = new ArrayList<>();
+    private final List<long[]> keys = new ArrayList<>();
+    private int[] slots = new int[16];
+
+    public static LabelRegistry defaults(){
+    /*
+    Creates a registry holding the labels of NeuralNet.Label
+
+    Return:
+    LabelRegistry whose entry numbers match the enum's ordinals
+    */
+        LabelRegistry registry = new LabelRegistry();
+        for (NeuralNet.Label label : NeuralNet.Label.values()){
+            registry.add(label.name(), label.getOutput());
+        }
+        return registry;
+    }
+
+    public static LabelRegistry forDataset(List<DataSample> dataset){
+    /*
+    Creates a registry of the labels found in a dataset
+
+    Parameters:
+    - List<DataSample> dataset: samples whose labels are registered
+
+    Return:
+    LabelRegistry of the dataset's labels
+    */
+        LabelRegistry registry = new LabelRegistry();
+        for (DataSample sample : dataset){
+            registry.add(sample);
+        }
+        return registry;
+    }
+
+    public int add(DataSample sample){
+    /*
+    Registers the label of one sample
+
+    Parameters:
+    - DataSample sample: sample whose output vector and label are registered
+
+    Return:
+    int entry number of the sample's output vector
+    */
+        return add(String.valueOf(sample.getLabel()), sample.getOutputVector());
+    }
+
+    public int add(String name, int[] outputVector){
+    /*
+    Registers a label for an output vector.  A vector that is already registered
+    keeps its first label, and vectors holding values other than -1 and 1 are
+    not registered, as the net can never decide on them.
+
+    Parameters:
+    - String name: label to print for the vector
+    - int[] outputVector: -1/+1 output vector of the label
+
+    Return:
+    int entry number of the vector, or -1 if it was not registered
+    */
+        int existing = find(outputVector);
+        if (existing >= 0 || !isBipolar(outputVector)){
+            return existing;
+        }
+        int entry = names.size();
+        names.add(name);
+        vectors.add(outputVector.clone());
+        keys.add(encode(outputVector));
+        if ((entry + 1) * 2 > slots.length){
+            rehash(slots.length * 2);
+        } else {
+            insert(entry);
+        }
+        return entry;
+    }
+
+    public int find(int[] outputVector){
+    /*
+    Finds the label of an output vector
+
+    Parameters:
+    - int[] outputVector: output vector classified by the net
+
+    Return:
+    int entry number of the label, or -1 if no label has this vector
+    */
+        if (!isBipolar(outputVector)){
+            return -1;
+        }
+        int mask = slots.length - 1;
+        for (int slot = hash(outputVector) & mask; slots[slot] != 0; slot = (slot + 1) & mask){
+            int entry = slots[slot] - 1;
+            if (vectors.get(entry).length == outputVector.length && matches(keys.get(entry), outputVector)){
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    public String nameOf(int[] outputVector){
+    /*
+    Names an output vector with this registry's label, or the default label when
+    this registry does not hold the vector
+
+    Parameters:
+    - int[] outputVector: output vector classified by the net
+
+    Return:
+    String label of the vector, or null if neither registry holds it
+    */
+        int entry = find(outputVector);
+        if (entry >= 0){
+            return names.get(entry);
+        }
+        entry = DEFAULT.find(outputVector);
+        return entry < 0 ? null : DEFAULT.names.get(entry);
+    }
+
+    public String getName(int entry){
+        return names.get(entry);
+    }
+
+    public int[] getVector(int entry){
+        return vectors.get(entry);
+    }
+
+    public int size(){
+        return names.size();
+    }
+
+    private void rehash(int capacity){
+        slots = new int[capacity];
+        for (int entry = 0; entry < names.size(); entry++){
+            insert(entry);
+        }
+    }
+
+    private void insert(int entry){
+        int mask = slots.length - 1;
+        int slot = hash(vectors.get(entry)) & mask;
+        while (slots[slot] != 0){
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = entry + 1;
+    }
+
+    private static boolean isBipolar(int[] outputVector){
+        for (int value : outputVector){
+            if (value != 1 && value != -1){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Packs a -1/+1 vector into bits, a set bit for +1, as DataSample.packPixels does for pixels
+    private static long[] encode(int[] outputVector){
+        return DataSample.packPixels(outputVector);
+    }
+
+    // Hashes the key bits of a vector word by word without building the key
+    private static int hash(int[] outputVector){
+        long hash = outputVector.length;
+        for (int base = 0; base < outputVector.length; base += 64){
+            hash = hash * 0x9E3779B97F4A7C15L + word(outputVector, base);
+        }
+        hash ^= hash >>> 29;
+        hash *= 0xBF58476D1CE4E5B9L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private static boolean matches(long[] key, int[] outputVector){
+        for (int word = 0; word < key.length; word++){
+            if (key[word] != word(outputVector, word << 6)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long word(int[] outputVector, int base){
+        long bits = 0L;
+        int end = Math.min(outputVector.length, base + 64);
+        for (int k = base; k < end; k++){
+            if (outputVector[k] > 0){
+                bits |= 1L << k;
+            }
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * This program implements a recorder of request latencies that reports
+ * percentiles.  It keeps the most recent latencies in a fixed size ring, so
+ * recording never allocates and memory use does not grow with traffic.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.util.Arrays;
+
+public class LatencyRecorder {
+    private final long[] latencies;
+    private long count;
+    private long maxNanos;
+
+    // Constructor
+    public LatencyRecorder(int capacity){
+        this.latencies = new long[capacity];
+    }
+
+    public synchronized void record(long nanos){
+    /*
+    Records one latency
+
+    Parameters:
+    - long nanos: latency in nanoseconds
+    */
+        latencies[(int) (count % latencies.length)] = nanos;
+        count++;
+        if (nanos > maxNanos){
+            maxNanos = nanos;
+        }
+    }
+
+    public synchronized long getCount(){
+        return count;
+    }
+
+    public synchronized long[] percentiles(double... fractions){
+    /*
+    Calculates latency percentiles over the recorded window
+
+    Parameters:
+    - double... fractions: percentiles wanted, as fractions such as 0.99
+
+    Return:
+    long[] of latencies in nanoseconds, one per fraction, all 0 if nothing was recorded
+    */
+        int size = (int) Math.min(count, latencies.length);
+        long[] result = new long[fractions.length];
+        if (size == 0){
+            return result;
+        }
+        long[] sorted = Arrays.copyOf(latencies, size);
+        Arrays.sort(sorted);
+        for (int i = 0; i < fractions.length; i++){
+            int index = (int) Math.ceil(fractions[i] * size) - 1;
+            result[i] = sorted[Math.max(0, Math.min(size - 1, index))];
+        }
+        return result;
+    }
+
+    public String summary(){
+    /*
+    Formats the count, common percentiles and the maximum in microseconds
+
+    Return:
+    String such as "count=100 p50=12us p90=20us p99=45us p999=80us max=95us"
+    */
+        long[] values = percentiles(0.50, 0.90, 0.99, 0.999);
+        long max;
+        long total;
+        synchronized (this){
+            max = maxNanos;
+            total = count;
+        }
+        return "count=" + total + " p50=" + values[0] / 1000 + "us p90=" + values[1] / 1000 + "us p99=" + values[2] / 1000
+            + "us p999=" + values[3] / 1000 + "us max=" + max / 1000 + "us";
+    }
+}
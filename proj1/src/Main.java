@@ -11,11 +11,63 @@
  * - David Kujawinski
  * - Dinh Troung
  * 
- * Date Last Modified: 3/7/2025
+ * Date Last Modified: 10/17/2026
  */
 
+import java.util.Arrays;
+
 public class Main {
     public static void main(String[] args){
+        // Run a hyperparameter sweep without the menu: --sweep <spec file>
+        if (args.length == 2 && args[0].equals("--sweep")){
+            HyperparameterSweep.main(new String[]{args[1]});
+            return;
+        }
+        // Run the train and test jobs of a manifest without the menu: --jobs <manifest file>
+        if (args.length == 2 && args[0].equals("--jobs")){
+            JobRunner.main(new String[]{args[1]});
+            return;
+        }
+        // Test with the streaming pipeline without the menu: --stream-test <weights file> <test data file> <results file>
+        if (args.length == 4 && args[0].equals("--stream-test")){
+            StreamingTester.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        // Compare quantized models with the trained weights: --quantize-report <weights file> <validation data file>
+        if (args.length == 3 && args[0].equals("--quantize-report")){
+            QuantizedModel.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        // Estimate accuracy on unseen samples with k folds: --cross-validate <data file> [options]
+        if (args.length > 1 && args[0].equals("--cross-validate")){
+            CrossValidation.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        // Score several models and their vote in one pass: --ensemble <test data file> <results file> <weights files> [options]
+        if (args.length > 3 && args[0].equals("--ensemble")){
+            EnsembleScorer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        // Compare how soon each training algorithm reaches a target accuracy: --compare-training <data file> [options]
+        if (args.length > 1 && args[0].equals("--compare-training")){
+            TrainingStrategy.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        // Serve trained models over a local socket: --serve <port | unix:/path/to/socket> <name>:<weights file> ... [options]
+        if (args.length > 2 && args[0].equals("--serve")){
+            ClassificationServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        // Measure a running server's throughput and latency: --load-test <port | unix:/path/to/socket> <model name> <data file> [options]
+        if (args.length > 3 && args[0].equals("--load-test")){
+            ServerLoadGenerator.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        // Generate a large noisy dataset without the menu: --generate <generator arguments>
+        if (args.length > 0 && args[0].equals("--generate")){
+            NoisyDatasetGenerator.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         UserIO.welcomeToPerceptron();
     }
 }
@@ -0,0 +1,214 @@
+/*
+ * This program implements a byte scanner over a memory-mapped file.  It reads
+ * signed integers and skips lines directly from the mapped bytes without
+ * creating Strings, and keeps count of the current line for error messages.
+ * Files larger than one mapping window are mapped a window at a time.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+public class MappedByteScanner implements Closeable {
+    static final long WINDOW_SIZE = 1L << 30;
+
+    private final String fileName;
+    private final FileChannel channel;
+    private final long fileSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long lineNumber;
+
+    // Constructor, starts scanning at the beginning of the file
+    public MappedByteScanner(String fileName) throws IOException{
+        this(fileName, 0L, 1L);
+    }
+
+    // Constructor, starts scanning at a byte position known to be on the given line
+    public MappedByteScanner(String fileName, long startPosition, long startLineNumber) throws IOException{
+        this.fileName = fileName;
+        this.channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.lineNumber = startLineNumber;
+        mapWindow(Math.min(startPosition, fileSize));
+    }
+
+    // Getters
+    public String getFileName(){
+        return fileName;
+    }
+
+    public long getLineNumber(){
+        return lineNumber;
+    }
+
+    public long getFileSize(){
+        return fileSize;
+    }
+
+    public long position(){
+        return windowStart + window.position();
+    }
+
+    private void mapWindow(long start) throws IOException{
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, fileSize - start));
+    }
+
+    // Maps the next window once the current one is used up, returns false at end of file
+    private boolean hasMore() throws IOException{
+        if (window.hasRemaining()){
+            return true;
+        }
+        long next = windowStart + window.limit();
+        if (next >= fileSize){
+            return false;
+        }
+        mapWindow(next);
+        return true;
+    }
+
+    public int peek() throws IOException{
+    /*
+    Returns the next byte without consuming it
+
+    Return:
+    int value of the byte, or -1 at end of file
+    */
+        if (!hasMore()){
+            return -1;
+        }
+        return window.get(window.position()) & 0xff;
+    }
+
+    public int read() throws IOException{
+    /*
+    Consumes and returns the next byte
+
+    Return:
+    int value of the byte, or -1 at end of file
+    */
+        if (!hasMore()){
+            return -1;
+        }
+        byte b = window.get();
+        if (b == '\n'){
+            lineNumber++;
+        }
+        return b & 0xff;
+    }
+
+    static boolean isWhitespace(int b){
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+
+    public int skipWhitespace() throws IOException{
+    /*
+    Skips spaces, tabs and line breaks
+
+    Return:
+    int value of the next byte, which is not consumed, or -1 at end of file
+    */
+        int b = peek();
+        while (b != -1 && isWhitespace(b)){
+            read();
+            b = peek();
+        }
+        return b;
+    }
+
+    public int nextInt() throws IOException{
+    /*
+    Skips whitespace and parses one signed decimal integer
+
+    Return:
+    int value parsed
+    */
+        int b = skipWhitespace();
+        if (b == -1){
+            throw error("unexpected end of file, expected an integer");
+        }
+        boolean negative = false;
+        if (b == '-' || b == '+'){
+            negative = (b == '-');
+            read();
+            b = peek();
+        }
+        if (b < '0' || b > '9'){
+            throw error("expected an integer but found " + describe(b));
+        }
+        int value = 0;
+        while (b >= '0' && b <= '9'){
+            int digit = b - '0';
+            if (value > (Integer.MAX_VALUE - digit) / 10){
+                throw error("integer out of range");
+            }
+            value = value * 10 + digit;
+            read();
+            b = peek();
+        }
+        if (b != -1 && !isWhitespace(b)){
+            throw error("expected whitespace after integer but found " + describe(b));
+        }
+        return negative ? -value : value;
+    }
+
+    public int nextNonWhitespace() throws IOException{
+    /*
+    Skips whitespace and consumes the next byte
+
+    Return:
+    int value of the byte
+    */
+        int b = skipWhitespace();
+        if (b == -1){
+            throw error("unexpected end of file");
+        }
+        return read();
+    }
+
+    public void skipLine() throws IOException{
+    /*
+    Consumes the rest of the current line, including its line break
+    */
+        int b = read();
+        while (b != -1 && b != '\n'){
+            b = read();
+        }
+    }
+
+    public DatasetFormatException error(String message){
+    /*
+    Creates an exception pointing at the current line
+
+    Parameters:
+    - String message: description of the problem
+
+    Return:
+    DatasetFormatException for the current line
+    */
+        return new DatasetFormatException(fileName, lineNumber, message);
+    }
+
+    private static String describe(int b){
+        if (b == -1){
+            return "end of file";
+        }
+        return b >= 0x20 && b < 0x7f ? "'" + (char) b + "'" : "byte " + b;
+    }
+
+    @Override
+    public void close() throws IOException{
+        channel.close();
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * This program implements a reader for the data file format on top of
+ * MappedByteScanner.  It reads the 4 line header and then one sample at a time,
+ * writing pixels straight into the sample's int array or packed bitset, so no
+ * Strings are created for any line or token.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public class MappedDataReader implements Closeable {
+    private final MappedByteScanner scanner;
+    private final boolean packSamples;
+    int inputRows;
+    int inputColumns;
+    int outputDimensions;
+    int numSamples;
+    private int samplesRead;
+
+    // Constructor, reads the header of the data file
+    public MappedDataReader(String dataFileName, boolean packSamples) throws IOException{
+        this.scanner = new MappedByteScanner(dataFileName);
+        this.packSamples = packSamples;
+        try {
+            readHeader();
+        } catch (IOException e){
+            scanner.close();
+            throw e;
+        }
+    }
+
+    // Constructor, continues from a scanner positioned at the start of a sample
+    public MappedDataReader(MappedByteScanner scanner, int inputRows, int inputColumns, int outputDimensions, int numSamples, boolean packSamples){
+        this.scanner = scanner;
+        this.packSamples = packSamples;
+        this.inputRows = inputRows;
+        this.inputColumns = inputColumns;
+        this.outputDimensions = outputDimensions;
+        this.numSamples = numSamples;
+    }
+
+    // Getters
+    public int getInputRows(){
+        return inputRows;
+    }
+
+    public int getInputColumns(){
+        return inputColumns;
+    }
+
+    public int getOutputDimensions(){
+        return outputDimensions;
+    }
+
+    public int getNumSamples(){
+        return numSamples;
+    }
+
+    public MappedByteScanner getScanner(){
+        return scanner;
+    }
+
+    private void readHeader() throws IOException{
+        // Each header line holds one value followed by a comment
+        inputRows = readHeaderValue("row dimension");
+        inputColumns = readHeaderValue("column dimension");
+        outputDimensions = readHeaderValue("output dimension");
+        numSamples = readHeaderValue("number of samples");
+    }
+
+    private int readHeaderValue(String name) throws IOException{
+        int value = scanner.nextInt();
+        if (value < 0){
+            throw scanner.error(name + " must not be negative, found " + value);
+        }
+        scanner.skipLine();
+        return value;
+    }
+
+    public boolean hasNext(){
+        return samplesRead < numSamples;
+    }
+
+    public DataSample next() throws IOException{
+    /*
+    Reads the next sample from the file
+
+    Return:
+    DataSample holding the sample's pixels, output vector and label
+    */
+        DataSample sample = FileParser.createDataSample(inputRows, inputColumns, outputDimensions);
+        int numPixels = inputRows * inputColumns;
+        if (packSamples){
+            sample.setPackedPixels(readPackedPixels(numPixels));
+        } else {
+            int[] pixelArray = new int[numPixels];
+            for (int i = 0; i < numPixels; i++){
+                pixelArray[i] = scanner.nextInt();
+            }
+            sample.setPixelArray(pixelArray);
+        }
+
+        int[] outputVector = new int[outputDimensions];
+        for (int k = 0; k < outputDimensions; k++){
+            outputVector[k] = scanner.nextInt();
+        }
+        sample.setOutputVector(outputVector);
+
+        // The label is the first character of the label line
+        sample.setLabel((char) scanner.nextNonWhitespace());
+        scanner.skipLine();
+        samplesRead++;
+        return sample;
+    }
+
+    private long[] readPackedPixels(int numPixels) throws IOException{
+        long[] packed = new long[(numPixels + 63) >>> 6];
+        for (int i = 0; i < numPixels; i++){
+            int pixel = scanner.nextInt();
+            if (pixel != 1 && pixel != -1){
+                throw scanner.error("packed samples need pixels of -1 or 1, found " + pixel);
+            }
+            if (pixel > 0){
+                packed[i >>> 6] |= 1L << i;
+            }
+        }
+        return packed;
+    }
+
+    @Override
+    public void close() throws IOException{
+        scanner.close();
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * This program implements a cache of trained models shared by test runs, so a
+ * weights file tested against several data files is parsed only once.
+ * Entries are keyed by the weights file's absolute path and remember the
+ * file's size and modification time when it was read, as DatasetCache does
+ * for data files.  Every lookup checks the file again: if either has changed
+ * the file was retrained or replaced, and it is read again in place of the old
+ * model.
+ *
+ * The cache holds at most a budget of model bytes (the weights, bias weights
+ * and weight sums) and drops the least recently used models to stay under it.
+ * A test run that asks for a quantized model gets a cache entry of its own,
+ * keyed by the file and the precision, which holds only the QuantizedModel:
+ * the double model is read, quantized and dropped, so only the smaller form
+ * stays resident.
+ * A model bigger than the whole budget is returned but not kept.  Hits,
+ * misses, reloads and evictions are counted so the budget can be sized for
+ * runs with many models.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.ToLongFunction;
+
+public class ModelCache {
+    static final long DEFAULT_BUDGET_BYTES = 256L << 20;
+
+    private final long budgetBytes;
+    // Iterates from least to most recently used
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+    private long hits;
+    private long misses;
+    private long reloads;
+    private long evictions;
+
+    // Constructor
+    public ModelCache(long budgetBytes){
+        this.budgetBytes = budgetBytes;
+    }
+
+    public PerceptronModel get(String weightsFileName) throws IOException{
+    /*
+    Returns the model of a weights file, reading the file if it is not cached
+    or has changed on disk since it was read.  Threads asking for a file being
+    read wait for that read instead of reading it again.
+
+    Parameters:
+    - String weightsFileName: path of the weights file, in either format
+
+    Return:
+    PerceptronModel, which callers must not modify
+
+    Throws:
+    - IOException if the file cannot be read
+    */
+        Path path = Paths.get(weightsFileName).toAbsolutePath().normalize();
+        return lookup(path, path.toString(), () -> PerceptronModel.load(weightsFileName), ModelCache::sizeOf);
+    }
+
+    public QuantizedModel getQuantized(String weightsFileName, QuantizedModel.Precision precision) throws IOException{
+    /*
+    Returns the quantized model of a weights file, reading and quantizing the
+    file if it is not cached or has changed on disk.  The double model is not
+    kept, so only the quantized weights count against the budget.
+
+    Parameters:
+    - String weightsFileName: path of the weights file, in either format
+    - QuantizedModel.Precision precision: precision to quantize the weights to
+
+    Return:
+    QuantizedModel, which callers must not modify
+
+    Throws:
+    - IOException if the file cannot be read
+    */
+        Path path = Paths.get(weightsFileName).toAbsolutePath().normalize();
+        return lookup(path, path + "#" + precision, () -> QuantizedModel.quantize(PerceptronModel.load(weightsFileName), precision),
+            QuantizedModel::weightBytes);
+    }
+
+    // Returns the cached value of a key, loading it if it is missing or its file has changed
+    private <T> T lookup(Path path, String key, Loader<T> loader, ToLongFunction<T> sizer) throws IOException{
+        // The file is checked before it is read, so a change made during the read is caught next time
+        long fileSize = Files.size(path);
+        long modified = Files.getLastModifiedTime(path).toMillis();
+
+        Entry entry;
+        boolean read;
+        synchronized (this){
+            Entry cached = entries.get(key);
+            if (cached != null && cached.fileSize == fileSize && cached.modified == modified){
+                hits++;
+                entry = cached;
+                read = false;
+            } else {
+                misses++;
+                if (cached != null){
+                    reloads++;
+                    remove(key, cached);
+                }
+                entry = new Entry(fileSize, modified);
+                entries.put(key, entry);
+                read = true;
+            }
+        }
+        if (!read){
+            // Waits outside the lock, so the thread reading the file can finish its entry
+            @SuppressWarnings("unchecked")
+            T value = (T) join(entry.model);
+            return value;
+        }
+
+        T value;
+        try {
+            value = loader.load();
+        } catch (IOException e){
+            synchronized (this){
+                remove(key, entry);
+            }
+            entry.model.completeExceptionally(e);
+            throw e;
+        }
+        synchronized (this){
+            if (entries.get(key) == entry){
+                entry.bytes = sizer.applyAsLong(value);
+                if (entry.bytes > budgetBytes){
+                    // Too big to keep, so the other models are not evicted to make room for it
+                    entries.remove(key);
+                    entry.bytes = 0;
+                } else {
+                    usedBytes += entry.bytes;
+                    evict();
+                }
+            }
+        }
+        entry.model.complete(value);
+        return value;
+    }
+
+    public void put(String weightsFileName, PerceptronModel model) throws IOException{
+    /*
+    Caches a model that was just saved to a weights file, so the next lookup of
+    the file is a hit instead of reading back what was written
+
+    Parameters:
+    - String weightsFileName: path the model was saved to
+    - PerceptronModel model: the saved model, which must not be modified afterwards
+    */
+        Path path = Paths.get(weightsFileName).toAbsolutePath().normalize();
+        String key = path.toString();
+        Entry entry = new Entry(Files.size(path), Files.getLastModifiedTime(path).toMillis());
+        entry.model.complete(model);
+        entry.bytes = sizeOf(model);
+        synchronized (this){
+            Entry old = entries.get(key);
+            if (old != null){
+                remove(key, old);
+            }
+            if (entry.bytes > budgetBytes){
+                return;
+            }
+            entries.put(key, entry);
+            usedBytes += entry.bytes;
+            evict();
+        }
+    }
+
+    public static long sizeOf(PerceptronModel model){
+        // Bytes held by the model's arrays, the same count QuantizedModel.report gives the double model
+        return 8L * (model.weights.length + model.biasWeights.length + model.weightSums.length);
+    }
+
+    // Drops the least recently used models until the cache fits its budget, skipping ones still being read
+    private void evict(){
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (usedBytes > budgetBytes && iterator.hasNext()){
+            Entry entry = iterator.next();
+            if (entry.bytes > 0){
+                usedBytes -= entry.bytes;
+                iterator.remove();
+                evictions++;
+            }
+        }
+    }
+
+    private void remove(String key, Entry entry){
+        if (entries.remove(key, entry)){
+            usedBytes -= entry.bytes;
+        }
+    }
+
+    private static Object join(CompletableFuture<Object> model) throws IOException{
+        try {
+            return model.get();
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while loading", e);
+        } catch (ExecutionException e){
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException){
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    public synchronized long getHits(){
+        return hits;
+    }
+
+    public synchronized long getMisses(){
+        return misses;
+    }
+
+    public synchronized long getReloads(){
+        return reloads;
+    }
+
+    public synchronized long getEvictions(){
+        return evictions;
+    }
+
+    public synchronized long getUsedBytes(){
+        return usedBytes;
+    }
+
+    public long getBudgetBytes(){
+        return budgetBytes;
+    }
+
+    public synchronized String statistics(){
+    /*
+    Describes the cache's counters and memory use
+
+    Return:
+    String such as "Model cache: 5 hits, 2 misses (1 reload), 0 evictions, 2 models in 0.05 of 256.00 MB"
+    */
+        return String.format(Locale.ROOT, "Model cache: %d hits, %d misses (%d reload%s), %d evictions, %d models in %.2f of %.2f MB",
+            hits, misses, reloads, reloads == 1 ? "" : "s", evictions, entries.size(),
+            usedBytes / (double) (1 << 20), budgetBytes / (double) (1 << 20));
+    }
+
+    private interface Loader<T> {
+        T load() throws IOException;
+    }
+
+    // Data structure to hold one weights file's model and the file state it was read from
+    private static class Entry {
+        final long fileSize;
+        final long modified;
+        // The PerceptronModel or QuantizedModel of the entry
+        final CompletableFuture<Object> model = new CompletableFuture<>();
+        // 0 until the model has been read
+        long bytes;
+
+        Entry(long fileSize, long modified){
+            this.fileSize = fileSize;
+            this.modified = modified;
+        }
+    }
+}
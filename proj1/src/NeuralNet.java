@@ -8,14 +8,13 @@
  * - David Kujawinski
  * - Dinh Troung
  * 
- * Date Last Modified: 3/7/2025
+ * Date Last Modified: 10/17/2026
  */
 
 
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.List;
 import java.lang.StringBuilder;
 
@@ -186,6 +185,24 @@ public class NeuralNet {
     - double[] biasWeights: Array of current bias weight values
     - String trainedWeightsFileName: User specified output file name
     - double thetaThreshold: theta value used in training to be carried over to testing
+    */
+        try {
+            writeWeightsFile(weightMatrix, biasWeights, trainedWeightsFileName, thetaThreshold);
+            System.out.println("Weights saved successfully to " + trainedWeightsFileName + "\n");
+        } catch (IOException e){
+            e.printStackTrace();
+        }
+    }
+
+    public static void writeWeightsFile(double[][] weightMatrix, double[]biasWeights, String trainedWeightsFileName, double thetaThreshold) throws IOException{
+    /*
+    Writes trained weight values to output file, leaving write failures to the caller
+
+    Parameters:
+    - double[][] weightMatrix: Matrix of current weight values
+    - double[] biasWeights: Array of current bias weight values
+    - String trainedWeightsFileName: output file name
+    - double thetaThreshold: theta value used in training to be carried over to testing
     */
         // Save Node weights
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(trainedWeightsFileName))) {
@@ -207,9 +224,6 @@ public class NeuralNet {
                 writer.write(String.format("%.6f", biasWeights[j]));
                 if (j < biasWeights.length - 1) writer.write(" ");
             }
-            System.out.println("Weights saved successfully to " + trainedWeightsFileName + "\n");
-        } catch (IOException e){
-            e.printStackTrace();
         }
     }
 
@@ -236,18 +250,16 @@ public class NeuralNet {
         // Deploy Neural Net
         int[][] netClassifications = new int[numSamples][numOutputNodes];
         for(int sampleNum = 0; sampleNum < dataset.size(); sampleNum++){
-            double[] yIn = new double[numOutputNodes];
-            int[] yOut = new int[numOutputNodes];
+            int[] yOut = netClassifications[sampleNum];
             DataSample sample = dataset.get(sampleNum);
             int[] inputSignals = sample.getPixelArray();
 
             for (int outputNode = 0; outputNode < numOutputNodes; outputNode++) {
-                yIn[outputNode] = calculateYIn(trainedWeightMatrix, trainedBiasWeights, inputSignals, outputNode);
-                yOut[outputNode] = applyActivationFunction(yIn[outputNode], thetaThreshold);
+                double yIn = calculateYIn(trainedWeightMatrix, trainedBiasWeights, inputSignals, outputNode);
+                yOut[outputNode] = applyActivationFunction(yIn, thetaThreshold);
             }
-            netClassifications[sampleNum] = yOut;
         }
-        saveResultsToFile(netClassifications, netTestingSettings.testingResultsOutputFilePath);
+        saveResultsToFile(netClassifications, dataset, netTestingSettings.testingResultsOutputFilePath);
     }
 
     //enumerated type to help identify the label based on the output vector
@@ -282,12 +294,13 @@ public class NeuralNet {
         *
         * */
         public static Label getLabel(int[] givenOutput){
-            for(Label label : Label.values()){
-                if(Arrays.equals(givenOutput, label.output)){
-                    return label;
-                }
-            }
-            return null;
+            // The default registry holds the labels in enum order, so its entry number is the ordinal
+            int entry = LabelRegistry.DEFAULT.find(givenOutput);
+            return entry < 0 ? null : Label.values()[entry];
+        }
+
+        public int[] getOutput(){
+            return output.clone();
         }
 
         /*
@@ -323,44 +336,63 @@ public class NeuralNet {
         }
     }
 
-    public static void saveResultsToFile(int[][] classifications, String testingResultsOutputFilePath){
+    public static void saveResultsToFile(int[][] classifications, List<DataSample> dataset, String testingResultsOutputFilePath){
     /*
-    Saves classification results from testing to output file specified by user
+    Saves classification results from testing to output file specified by user.
+    Classified outputs are named with the labels found in the dataset.
 
     Parameters:
     - int[][] classifications: Matrix representing classification results
+    - List<DataSample> dataset: tested samples, in the same order as the classifications
     - String testingResultsOutputFilePath: filepath of output file specified by user
     */
+        LabelRegistry labels = LabelRegistry.forDataset(dataset);
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(testingResultsOutputFilePath))) {
-            Label[] actualOutput = Label.values();
-            int labelIncrement = 0;
-            for (int[] row : classifications){
-                //identifies the label it was trying to classify
-                Label classifiedLabel = Label.getLabel(row);
-                //prints out the expected result
-                writer.write("Actual:\n"+actualOutput[labelIncrement].toString());
-                writer.newLine();
-                //prints out what it was classified as, and Undecided if the vector was not identified
-                if(classifiedLabel==null){
-                    writer.write("Classified:\nUndecided\n"+Label.arrayToString(row));
-                }
-                else{
-                    writer.write("Classified:\n"+classifiedLabel.toString());
-                }
-                //increments the labels
-                if(labelIncrement==6)
-                    labelIncrement = 0;
-                else
-                    labelIncrement++;
-                writer.newLine();
-                writer.newLine();
+            for (int sampleNum = 0; sampleNum < classifications.length; sampleNum++){
+                writeResult(writer, classifications[sampleNum], dataset.get(sampleNum), labels);
             }
-            writer.newLine();
-            writer.newLine();
+            writeResultsEnd(writer);
             writer.close();
             System.out.println("Results saved successfully to " + testingResultsOutputFilePath + "\n");
         } catch (IOException e){
             e.printStackTrace();
         }
     }
+
+    public static void writeResult(BufferedWriter writer, int[] row, DataSample sample, LabelRegistry labels) throws IOException{
+    /*
+    Writes the result of one sample in the results file format
+
+    Parameters:
+    - BufferedWriter writer: writer of the results file
+    - int[] row: outputs the net classified the sample as
+    - DataSample sample: tested sample, whose own label is the expected result
+    - LabelRegistry labels: labels to name the classified outputs with
+    */
+        //prints out the expected result, piece by piece so no Strings are built
+        writer.write("Actual:\n");
+        writer.write(sample.getLabel());
+        writer.write('\n');
+        ResultWriter.writeVector(writer, sample.getOutputVector());
+        writer.newLine();
+        //identifies the label it was classified as, and prints Undecided if the vector was not identified
+        String classifiedName = labels.nameOf(row);
+        writer.write("Classified:\n");
+        writer.write(classifiedName==null ? "Undecided" : classifiedName);
+        writer.write('\n');
+        ResultWriter.writeVector(writer, row);
+        writer.newLine();
+        writer.newLine();
+    }
+
+    public static void writeResultsEnd(BufferedWriter writer) throws IOException{
+    /*
+    Writes the lines that end a results file
+
+    Parameters:
+    - BufferedWriter writer: writer of the results file
+    */
+        writer.newLine();
+        writer.newLine();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,306 @@
+/*
+ * This program generates large noisy datasets for load testing.  It takes the
+ * clean patterns of a data file, optionally resizes them to another grid, and
+ * writes any number of noisy copies in which each pixel is flipped with the
+ * given probability.  Sample n is a noisy copy of clean pattern n modulo the
+ * number of patterns, and its noise comes from a random stream seeded by the
+ * seed and n alone, so the output is the same for any number of threads.
+ *
+ * Usage:
+ *     NoisyDatasetGenerator <clean data file> <output file> samples=<n> noise=<rate> [grid=<rows>x<columns>] [seed=42] [threads=<n>]
+ * The output is a compiled dataset (see DatasetCache) if the output name ends
+ * with .pcds and a data file in the FileParser format otherwise.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class NoisyDatasetGenerator {
+    static final int BLOCK_SAMPLES = 4096;
+
+    private final long[][] cleanPixels;
+    private final int[][] cleanOutputs;
+    private final char[] cleanLabels;
+    private final int rows;
+    private final int columns;
+    private final int outputDimension;
+    private final double noiseRate;
+    private final long seed;
+
+    // Constructor, resizes the clean patterns to the output grid once
+    public NoisyDatasetGenerator(List<DataSample> cleanDataset, int rows, int columns, double noiseRate, long seed){
+        this.rows = rows;
+        this.columns = columns;
+        this.outputDimension = cleanDataset.get(0).getOutputDimension();
+        this.noiseRate = noiseRate;
+        this.seed = seed;
+        this.cleanPixels = new long[cleanDataset.size()][];
+        this.cleanOutputs = new int[cleanDataset.size()][];
+        this.cleanLabels = new char[cleanDataset.size()];
+        for (int p = 0; p < cleanDataset.size(); p++){
+            DataSample sample = cleanDataset.get(p);
+            cleanPixels[p] = resize(sample.getPixelArray(), sample.getRowDimension(), sample.getColumnDimension(), rows, columns);
+            cleanOutputs[p] = sample.getOutputVector();
+            cleanLabels[p] = sample.getLabel();
+        }
+    }
+
+    public static void main(String[] args){
+        String usage = "Usage: NoisyDatasetGenerator <clean data file> <output file> samples=<n> noise=<rate> [grid=<rows>x<columns>] [seed=42] [threads=<n>]";
+        if (args.length < 4){
+            System.out.println(usage);
+            return;
+        }
+        long numSamples;
+        double noiseRate;
+        int rows = 0;
+        int columns = 0;
+        long seed;
+        int threads;
+        String grid;
+        try {
+            CommandLineOptions options = CommandLineOptions.parse(args, 2, false, "samples", "noise", "grid", "seed", "threads");
+            numSamples = options.getLong("samples", -1);
+            noiseRate = options.getDouble("noise", -1.0);
+            seed = options.getLong("seed", 42);
+            threads = options.getInt("threads", Runtime.getRuntime().availableProcessors());
+            grid = options.getString("grid", null);
+            if (grid != null){
+                String[] dimensions = grid.split("x");
+                try {
+                    if (dimensions.length != 2){
+                        throw new NumberFormatException();
+                    }
+                    rows = Integer.parseInt(dimensions[0].trim());
+                    columns = Integer.parseInt(dimensions[1].trim());
+                } catch (NumberFormatException | ArrayIndexOutOfBoundsException e){
+                    throw new IllegalArgumentException("Invalid option grid=" + grid + ", expected <rows>x<columns>");
+                }
+            }
+        } catch (IllegalArgumentException e){
+            System.out.println(e.getMessage());
+            System.out.println(usage);
+            return;
+        }
+        if (numSamples < 0 || numSamples > Integer.MAX_VALUE || noiseRate < 0.0 || noiseRate > 1.0){
+            System.out.println("samples must be between 0 and " + Integer.MAX_VALUE + " and noise between 0 and 1");
+            System.out.println(usage);
+            return;
+        }
+        if (threads < 1 || (grid != null && (rows < 1 || columns < 1))){
+            System.out.println("threads and the grid's rows and columns must be at least 1");
+            System.out.println(usage);
+            return;
+        }
+
+        try {
+            List<DataSample> cleanDataset = FileParser.parseDataFileMapped(args[0], true);
+            if (cleanDataset.isEmpty()){
+                System.out.println("No clean patterns in " + args[0]);
+                return;
+            }
+            DataSample first = cleanDataset.get(0);
+            NoisyDatasetGenerator generator = new NoisyDatasetGenerator(cleanDataset,
+                rows > 0 ? rows : first.getRowDimension(), columns > 0 ? columns : first.getColumnDimension(), noiseRate, seed);
+            long start = System.nanoTime();
+            generator.generate(args[1], (int) numSamples, threads);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.println(String.format("Generated %d samples in %.2f s (%.0f samples/s)", numSamples, seconds, numSamples / seconds));
+        } catch (IOException e){
+            System.out.println("Error generating dataset: " + e.getMessage());
+        }
+    }
+
+    public void generate(String outputFileName, int numSamples, int threads) throws IOException{
+    /*
+    Generates the noisy samples in blocks on a thread pool and writes the blocks
+    in sample order.  At most two blocks per thread are held in memory at once.
+
+    Parameters:
+    - String outputFileName: path of the output file, a compiled dataset if it ends with .pcds
+    - int numSamples: number of samples to generate
+    - int threads: number of threads generating blocks
+    */
+        boolean binary = outputFileName.endsWith(DatasetCache.EXTENSION);
+        int numBlocks = (numSamples + BLOCK_SAMPLES - 1) / BLOCK_SAMPLES;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ArrayDeque<Future<Block>> pending = new ArrayDeque<>();
+        try (DatasetCache.Writer binaryWriter = binary
+                ? new DatasetCache.Writer(outputFileName, rows, columns, outputDimension, numSamples, 0L, 0L) : null;
+                OutputStream textWriter = binary ? null : new BufferedOutputStream(new FileOutputStream(outputFileName), 1 << 16)){
+            if (!binary){
+                textWriter.write(header(numSamples).getBytes(StandardCharsets.US_ASCII));
+            }
+            int nextBlock = 0;
+            while (nextBlock < numBlocks || !pending.isEmpty()){
+                while (nextBlock < numBlocks && pending.size() < threads * 2){
+                    int firstSample = nextBlock * BLOCK_SAMPLES;
+                    int blockSize = Math.min(BLOCK_SAMPLES, numSamples - firstSample);
+                    pending.add(pool.submit(() -> generateBlock(firstSample, blockSize, binary)));
+                    nextBlock++;
+                }
+                Block block = await(pending.poll());
+                if (binary){
+                    for (int n = 0; n < block.packedPixels.length; n++){
+                        binaryWriter.writePacked(block.packedPixels[n], cleanOutputs[block.patterns[n]], cleanLabels[block.patterns[n]]);
+                    }
+                } else {
+                    textWriter.write(block.text);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static Block await(Future<Block> future) throws IOException{
+        try {
+            return future.get();
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while generating samples", e);
+        } catch (ExecutionException e){
+            throw new IOException("could not generate samples: " + e.getCause(), e.getCause());
+        }
+    }
+
+    private Block generateBlock(int firstSample, int blockSize, boolean binary){
+        Block block = new Block();
+        block.patterns = new int[blockSize];
+        block.packedPixels = new long[blockSize][];
+        for (int n = 0; n < blockSize; n++){
+            block.patterns[n] = (firstSample + n) % cleanPixels.length;
+            block.packedPixels[n] = noisyPixels(firstSample + n);
+        }
+        if (!binary){
+            StringBuilder text = new StringBuilder(blockSize * (rows * columns * 3 + outputDimension * 3 + 8));
+            for (int n = 0; n < blockSize; n++){
+                appendSample(text, block.packedPixels[n], cleanOutputs[block.patterns[n]], cleanLabels[block.patterns[n]]);
+            }
+            block.text = text.toString().getBytes(StandardCharsets.US_ASCII);
+            block.packedPixels = null;
+        }
+        return block;
+    }
+
+    public long[] noisyPixels(int sampleIndex){
+    /*
+    Generates the pixels of one sample
+
+    Parameters:
+    - int sampleIndex: index of the sample in the generated dataset
+
+    Return:
+    long[] of packed pixels, one bit per pixel with a set bit for +1
+    */
+        long[] pixels = cleanPixels[sampleIndex % cleanPixels.length].clone();
+        // Each sample gets its own stream, so samples can be generated in any order on any thread
+        SplittableRandom random = new SplittableRandom(mix(seed + sampleIndex * 0x9E3779B97F4A7C15L));
+        int numPixels = rows * columns;
+        if (noiseRate >= 1.0){
+            for (int i = 0; i < numPixels; i++){
+                pixels[i >>> 6] ^= 1L << i;
+            }
+            return pixels;
+        }
+        // Jump straight to the next flipped pixel, the gaps between flips are geometrically distributed
+        double logKeep = Math.log1p(-noiseRate);
+        double i = -1.0;
+        while (true){
+            i += 1.0 + Math.floor(Math.log(1.0 - random.nextDouble()) / logKeep);
+            if (!(i < numPixels)){
+                return pixels;
+            }
+            int pixel = (int) i;
+            pixels[pixel >>> 6] ^= 1L << pixel;
+        }
+    }
+
+    // Scrambles a seed so the streams of neighbouring sample indexes are unrelated
+    private static long mix(long z){
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    static long[] resize(int[] pixelArray, int fromRows, int fromColumns, int toRows, int toColumns){
+    /*
+    Resizes a pattern to another grid by nearest neighbour sampling
+
+    Parameters:
+    - int[] pixelArray: pixels of the pattern, row by row
+    - int fromRows: rows of the pattern
+    - int fromColumns: columns of the pattern
+    - int toRows: rows of the resized pattern
+    - int toColumns: columns of the resized pattern
+
+    Return:
+    long[] of packed pixels of the resized pattern
+    */
+        long[] packed = new long[DatasetCache.wordsFor(toRows * toColumns)];
+        for (int r = 0; r < toRows; r++){
+            int fromRow = r * fromRows / toRows;
+            for (int c = 0; c < toColumns; c++){
+                int fromColumn = c * fromColumns / toColumns;
+                if (pixelArray[fromRow * fromColumns + fromColumn] > 0){
+                    int i = r * toColumns + c;
+                    packed[i >>> 6] |= 1L << i;
+                }
+            }
+        }
+        return packed;
+    }
+
+    private String header(int numSamples){
+        return rows + "\t// row dimension of input pattern\n"
+            + columns + "\t// column dimension of input pattern\n"
+            + outputDimension + "\t// dimension of output pattern\n"
+            + numSamples + "\t// number of training pairs\n";
+    }
+
+    private void appendSample(StringBuilder text, long[] packedPixels, int[] outputVector, char label){
+        text.append('\n');
+        for (int r = 0; r < rows; r++){
+            for (int c = 0; c < columns; c++){
+                int i = r * columns + c;
+                if (c > 0){
+                    text.append(' ');
+                }
+                text.append((packedPixels[i >>> 6] & (1L << i)) != 0 ? " 1" : "-1");
+            }
+            text.append('\n');
+        }
+        text.append('\n');
+        for (int k = 0; k < outputVector.length; k++){
+            if (k > 0){
+                text.append(' ');
+            }
+            text.append(outputVector[k] > 0 ? " 1" : "-1");
+        }
+        text.append('\n').append(label).append('\n');
+    }
+
+    // Data structure to hold one generated block of samples
+    private static class Block {
+        int[] patterns;
+        long[][] packedPixels;
+        byte[] text;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * This program implements a parallel parse of large data files.  After the 4
+ * line header every sample ends with its label line, the only line that
+ * starts with a letter instead of a number, so the file can be cut into
+ * chunks that each start right after a label line:
+ *     1. the header is read and the rest of the file is split into equal byte
+ *        ranges, one or more per thread
+ *     2. each range's start is moved forward to the end of the next label line
+ *     3. worker threads parse the chunks with their own MappedDataReader
+ *     4. the chunks' samples are joined in file order
+ *
+ * Chunk workers do not know which line their chunk starts on.  If any chunk
+ * fails, or the chunks hold a different number of samples than the header
+ * says, the file is parsed again in order, which reports the problem with its
+ * line number exactly as FileParser.parseDataFileMapped does.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class ParallelDataParser {
+    // Files with less sample data than this are parsed on the calling thread
+    static final long MIN_PARALLEL_BYTES = 8L << 20;
+    static final int CHUNKS_PER_THREAD = 4;
+
+    public static List<DataSample> parse(String dataFileName, boolean packSamples, int threads) throws IOException{
+    /*
+    Parses a data file with several threads, or on the calling thread if the
+    file is small or only one thread is asked for
+
+    Parameters:
+    - String dataFileName: File name of data file to be parsed
+    - boolean packSamples: store each sample's pixels as a bitset instead of an int array
+    - int threads: number of worker threads
+
+    Return:
+    List of DataSamples in file order
+
+    Throws:
+    - DatasetFormatException with the line number if the file is malformed
+    - IOException if the file cannot be read
+    */
+        long dataStart;
+        long fileSize;
+        int rows;
+        int columns;
+        int outputDimensions;
+        int numSamples;
+        try (MappedDataReader header = new MappedDataReader(dataFileName, packSamples)){
+            dataStart = header.getScanner().position();
+            fileSize = header.getScanner().getFileSize();
+            rows = header.getInputRows();
+            columns = header.getInputColumns();
+            outputDimensions = header.getOutputDimensions();
+            numSamples = header.getNumSamples();
+        }
+        if (threads <= 1 || fileSize - dataStart < MIN_PARALLEL_BYTES){
+            return FileParser.parseDataFileMapped(dataFileName, packSamples);
+        }
+
+        long[] chunkStarts = chunkStarts(dataFileName, dataStart, fileSize, threads * CHUNKS_PER_THREAD);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<DataSample>>> chunks = new ArrayList<>();
+            for (int c = 0; c + 1 < chunkStarts.length; c++){
+                long start = chunkStarts[c];
+                long end = chunkStarts[c + 1];
+                chunks.add(pool.submit(() -> parseChunk(dataFileName, start, end, rows, columns, outputDimensions, packSamples)));
+            }
+            List<DataSample> dataset = new ArrayList<>(numSamples);
+            for (Future<List<DataSample>> chunk : chunks){
+                dataset.addAll(chunk.get());
+            }
+            if (dataset.size() == numSamples){
+                return dataset;
+            }
+        } catch (ExecutionException e){
+            // Parsed again below, in order, so the error carries its line number
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while parsing " + dataFileName, e);
+        } finally {
+            pool.shutdownNow();
+        }
+        return FileParser.parseDataFileMapped(dataFileName, packSamples);
+    }
+
+    // Byte positions where chunks start, each right after a label line, ending with the file size
+    private static long[] chunkStarts(String dataFileName, long dataStart, long fileSize, int numChunks) throws IOException{
+        long[] starts = new long[numChunks + 1];
+        starts[0] = dataStart;
+        int count = 1;
+        long chunkSize = (fileSize - dataStart) / numChunks;
+        for (int c = 1; c < numChunks; c++){
+            // A chunk whose first sample ran past the target pushes the next chunk back
+            long target = Math.max(dataStart + c * chunkSize, starts[count - 1]);
+            long start;
+            try (MappedByteScanner scanner = new MappedByteScanner(dataFileName, target, 0L)){
+                start = nextSampleStart(scanner);
+            }
+            if (start >= fileSize){
+                break;
+            }
+            starts[count++] = start;
+        }
+        starts[count++] = fileSize;
+        long[] trimmed = new long[count];
+        System.arraycopy(starts, 0, trimmed, 0, count);
+        return trimmed;
+    }
+
+    // Moves past the next label line, returning the position of the sample after it
+    private static long nextSampleStart(MappedByteScanner scanner) throws IOException{
+        // The target may fall inside a line, which cannot be told apart from a line start
+        scanner.skipLine();
+        while (true){
+            int b = scanner.skipWhitespace();
+            if (b == -1){
+                return scanner.getFileSize();
+            }
+            scanner.skipLine();
+            if (!isNumberStart(b)){
+                return scanner.position();
+            }
+        }
+    }
+
+    private static boolean isNumberStart(int b){
+        return b == '-' || b == '+' || (b >= '0' && b <= '9');
+    }
+
+    private static List<DataSample> parseChunk(String dataFileName, long start, long end, int rows, int columns,
+            int outputDimensions, boolean packSamples) throws IOException{
+        // Line numbers are unknown inside a chunk, so they count from 0 and are never reported
+        try (MappedDataReader reader = new MappedDataReader(new MappedByteScanner(dataFileName, start, 0L),
+                rows, columns, outputDimensions, Integer.MAX_VALUE, packSamples)){
+            MappedByteScanner scanner = reader.getScanner();
+            List<DataSample> samples = new ArrayList<>();
+            while (scanner.skipWhitespace() != -1 && scanner.position() < end){
+                samples.add(reader.next());
+            }
+            return samples;
+        }
+    }
+}
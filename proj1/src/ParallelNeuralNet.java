@@ -0,0 +1,138 @@
+/*
+ * This program implements parallel training of the perceptron across output
+ * nodes.  Each output node's weights, bias weight and weight sum only depend on
+ * that node, so groups of nodes are trained on a ForkJoin pool, each node running
+ * its own epochs until it converges.
+ *
+ * A node that goes a whole epoch without a weight change will never change
+ * again, so the number of epochs the sequential trainer needs is the largest
+ * epoch count of any single node.  The trained weights are the same as those of
+ * FlatNeuralNet.trainModel.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class ParallelNeuralNet {
+    public static int trainModel(PerceptronModel model, List<DataSample> dataset, TrainingSettings netTrainingSettings){
+    /*
+    Trains a model on the common ForkJoin pool
+
+    Parameters:
+    - PerceptronModel model: model to train in place
+    - List<DataSample> dataset: samples to train on
+    - TrainingSettings netTrainingSettings: learning rate, thresholds and max epochs
+
+    Return:
+    - int representing number of epochs of training occured.
+    */
+        return trainModel(model, dataset, netTrainingSettings, ForkJoinPool.commonPool());
+    }
+
+    public static int trainModel(PerceptronModel model, List<DataSample> dataset, TrainingSettings netTrainingSettings, ForkJoinPool pool){
+    /*
+    Trains every output node of a model on a ForkJoin pool and joins on the
+    result to find the epoch at which the whole net converged.
+
+    Parameters:
+    - PerceptronModel model: model to train in place
+    - List<DataSample> dataset: samples to train on
+    - TrainingSettings netTrainingSettings: learning rate, thresholds and max epochs
+    - ForkJoinPool pool: pool to run the node groups on
+
+    Return:
+    - int representing number of epochs of training occured.
+    */
+        int numOutputNodes = model.numOutputNodes;
+        int[] nodeEpochs = new int[numOutputNodes];
+        // Aim for a few groups per worker so uneven convergence times still balance out
+        int nodesPerTask = Math.max(1, numOutputNodes / (pool.getParallelism() * 4));
+        pool.invoke(new NodeGroupTask(model, dataset, netTrainingSettings, nodeEpochs, 0, numOutputNodes, nodesPerTask));
+
+        int epochNum = 0;
+        for (int nodeEpoch : nodeEpochs){
+            epochNum = Math.max(epochNum, nodeEpoch);
+        }
+        return epochNum;
+    }
+
+    public static int trainNode(PerceptronModel model, List<DataSample> dataset, int outputNode, TrainingSettings netTrainingSettings){
+    /*
+    Runs the perceptron learning rule for a single output node until that node
+    goes an epoch without a weight change or the maximum epochs is reached.
+
+    Parameters:
+    - PerceptronModel model: model being trained, only outputNode's entries are changed
+    - List<DataSample> dataset: samples to train on
+    - int outputNode: output node to train
+    - TrainingSettings netTrainingSettings: learning rate, thresholds and max epochs
+
+    Return:
+    - int representing number of epochs the node trained for
+    */
+        double learningRate = netTrainingSettings.learningRate;
+        double weightChangeThreshold = netTrainingSettings.weightChangeThreshold;
+        boolean converged = false;
+        int epochNum = 0;
+        while (!converged && epochNum < netTrainingSettings.maxEpochs){
+            epochNum++;
+            boolean weightChanged = false;
+            for (DataSample sample : dataset){
+                weightChanged |= FlatNeuralNet.trainNodeOnSample(model, sample, outputNode, learningRate, weightChangeThreshold);
+            }
+            if (!weightChanged){
+                converged = true;
+            }
+        }
+        return epochNum;
+    }
+
+    // Trains a range of output nodes, splitting the range until it is small enough
+    private static class NodeGroupTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final PerceptronModel model;
+        private final List<DataSample> dataset;
+        private final TrainingSettings netTrainingSettings;
+        private final int[] nodeEpochs;
+        private final int firstNode;
+        private final int endNode;
+        private final int nodesPerTask;
+
+        NodeGroupTask(PerceptronModel model, List<DataSample> dataset, TrainingSettings netTrainingSettings,
+                int[] nodeEpochs, int firstNode, int endNode, int nodesPerTask){
+            this.model = model;
+            this.dataset = dataset;
+            this.netTrainingSettings = netTrainingSettings;
+            this.nodeEpochs = nodeEpochs;
+            this.firstNode = firstNode;
+            this.endNode = endNode;
+            this.nodesPerTask = nodesPerTask;
+        }
+
+        @Override
+        protected void compute(){
+            if (endNode - firstNode > nodesPerTask){
+                int middle = (firstNode + endNode) >>> 1;
+                invokeAll(new NodeGroupTask(model, dataset, netTrainingSettings, nodeEpochs, firstNode, middle, nodesPerTask),
+                    new NodeGroupTask(model, dataset, netTrainingSettings, nodeEpochs, middle, endNode, nodesPerTask));
+                return;
+            }
+            // Bias weights and weight sums are tiny shared arrays, so train on a private
+            // copy of them and write back only this group's entries when done
+            PerceptronModel view = model.shareWeights();
+            for (int outputNode = firstNode; outputNode < endNode; outputNode++){
+                nodeEpochs[outputNode] = trainNode(view, dataset, outputNode, netTrainingSettings);
+                model.biasWeights[outputNode] = view.biasWeights[outputNode];
+                model.weightSums[outputNode] = view.weightSums[outputNode];
+            }
+        }
+    }
+}
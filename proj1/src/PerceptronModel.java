@@ -0,0 +1,147 @@
+/*
+ * This program is a data structure to hold a trained perceptron model in the
+ * contiguous output-major layout used by FlatNeuralNet.
+ *
+ * The weight of input node i into output node j is stored at
+ * weights[j * numInputNodes + i], so each output node's weights are one
+ * contiguous run of memory.  weightSums[j] holds the sum of output node j's
+ * weights, which the packed-sample yIn path in FlatNeuralNet depends on.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.io.IOException;
+
+public class PerceptronModel {
+    int numInputNodes;
+    int numOutputNodes;
+    double[] weights;
+    double[] biasWeights;
+    double[] weightSums;
+    double thetaThreshold;
+
+    // Constructor
+    public PerceptronModel(int numInputNodes, int numOutputNodes, double thetaThreshold){
+        this.numInputNodes = numInputNodes;
+        this.numOutputNodes = numOutputNodes;
+        this.thetaThreshold = thetaThreshold;
+        this.weights = new double[numInputNodes * numOutputNodes];
+        this.biasWeights = new double[numOutputNodes];
+        this.weightSums = new double[numOutputNodes];
+    }
+
+    public void computeWeightSums(){
+    /*
+    Recomputes the per-node weight sums after weights were set directly
+    */
+        for (int j = 0; j < numOutputNodes; j++){
+            int offset = j * numInputNodes;
+            double sum = 0.0;
+            for (int i = 0; i < numInputNodes; i++){
+                sum += weights[offset + i];
+            }
+            weightSums[j] = sum;
+        }
+    }
+
+    public PerceptronModel copy(){
+    /*
+    Creates an independent copy of this model
+
+    Return:
+    PerceptronModel with its own copies of every array
+    */
+        PerceptronModel copy = new PerceptronModel(0, 0, thetaThreshold);
+        copy.numInputNodes = numInputNodes;
+        copy.numOutputNodes = numOutputNodes;
+        copy.weights = weights.clone();
+        copy.biasWeights = biasWeights.clone();
+        copy.weightSums = weightSums.clone();
+        return copy;
+    }
+
+    public PerceptronModel shareWeights(){
+    /*
+    Creates a view of this model that shares the weight array but has its own
+    copies of the bias weights and weight sums, so threads that each own
+    different output nodes do not write to the same small arrays
+
+    Return:
+    PerceptronModel sharing this model's weights
+    */
+        PerceptronModel view = new PerceptronModel(0, 0, thetaThreshold);
+        view.numInputNodes = numInputNodes;
+        view.numOutputNodes = numOutputNodes;
+        view.weights = weights;
+        view.biasWeights = biasWeights.clone();
+        view.weightSums = weightSums.clone();
+        return view;
+    }
+
+    public static PerceptronModel load(String weightsFileName) throws IOException{
+    /*
+    Loads a trained weights file in either the text format or the binary
+    format of BinaryWeightsFile, which is detected from the file's first bytes
+
+    Parameters:
+    - String weightsFileName: path of the weights file
+
+    Return:
+    PerceptronModel holding the file's weights and theta
+
+    Throws:
+    - IOException if the file cannot be read or is not a weights file
+    */
+        if (BinaryWeightsFile.isBinaryWeightsFile(weightsFileName)){
+            return BinaryWeightsFile.load(weightsFileName);
+        }
+        return FileParser.parseTextWeights(weightsFileName);
+    }
+
+    public static PerceptronModel fromWeightMatrix(double[][] weightMatrix, double[] biasWeights, double thetaThreshold){
+    /*
+    Creates a model from the input-major weight matrix used by NeuralNet
+
+    Parameters:
+    - double[][] weightMatrix: Matrix of weights indexed [inputNode][outputNode]
+    - double[] biasWeights: Array of bias weight values
+    - double thetaThreshold: theta value used for the activation function
+
+    Return:
+    PerceptronModel holding a copy of the weights in output-major order
+    */
+        int numInputNodes = weightMatrix.length;
+        int numOutputNodes = biasWeights.length;
+        PerceptronModel model = new PerceptronModel(numInputNodes, numOutputNodes, thetaThreshold);
+        for (int i = 0; i < numInputNodes; i++){
+            for (int j = 0; j < numOutputNodes; j++){
+                model.weights[j * numInputNodes + i] = weightMatrix[i][j];
+            }
+        }
+        System.arraycopy(biasWeights, 0, model.biasWeights, 0, numOutputNodes);
+        model.computeWeightSums();
+        return model;
+    }
+
+    public double[][] toWeightMatrix(){
+    /*
+    Converts the model back into the input-major weight matrix used by NeuralNet
+
+    Return:
+    double[][] indexed [inputNode][outputNode]
+    */
+        double[][] weightMatrix = new double[numInputNodes][numOutputNodes];
+        for (int j = 0; j < numOutputNodes; j++){
+            int offset = j * numInputNodes;
+            for (int i = 0; i < numInputNodes; i++){
+                weightMatrix[i][j] = weights[offset + i];
+            }
+        }
+        return weightMatrix;
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * This program implements reduced-precision copies of a trained model for
+ * inference.  Weights files only keep 6 decimals, so a trained model already
+ * survives rounding; a quantized model stores its weights as:
+ *     float32   4 bytes a weight, half the size of the double model
+ *     int8      1 byte a weight, an eighth of the size, plus one scale per
+ *               output node: weight = scale * q with q between -127 and 127,
+ *               and scale = the node's largest |weight| / 127
+ *
+ * Inference runs on the quantized weights directly, adding them up in double
+ * so only the stored weights are rounded.  With int8 weights and
+ * packed samples the y in of a node is worked out in integers and scaled once:
+ *     y in = bias + scale * (2 * (sum of q where the pixel is +1) - sum of q)
+ * The bias weights stay doubles, as there is only one per node.
+ *
+ * Test jobs get their quantized model from ModelCache.getQuantized, which keeps
+ * only the quantized weights, so a cached int8 model holds about an eighth of
+ * the memory of the double model.
+ *
+ * Usage, to report the accuracy change on a validation file:
+ *     QuantizedModel <trained weights file> <validation data file>
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+public class QuantizedModel {
+    public enum Precision {
+        FLOAT32, INT8;
+
+        public static Precision parse(String name){
+            return CommandLineOptions.parseEnum(Precision.class, name);
+        }
+    }
+
+    final Precision precision;
+    final int numInputNodes;
+    final int numOutputNodes;
+    final double thetaThreshold;
+    final double[] biasWeights;
+    private float[] floatWeights;
+    private double[] floatWeightSums;
+    private byte[] int8Weights;
+    private int[] int8WeightSums;
+    private double[] scales;
+
+    private QuantizedModel(PerceptronModel model, Precision precision){
+        this.precision = precision;
+        this.numInputNodes = model.numInputNodes;
+        this.numOutputNodes = model.numOutputNodes;
+        this.thetaThreshold = model.thetaThreshold;
+        this.biasWeights = model.biasWeights.clone();
+    }
+
+    public static QuantizedModel quantize(PerceptronModel model, Precision precision){
+    /*
+    Creates a reduced-precision copy of a trained model
+
+    Parameters:
+    - PerceptronModel model: trained model, left unchanged
+    - Precision precision: FLOAT32 or INT8
+
+    Return:
+    QuantizedModel holding the rounded weights
+    */
+        QuantizedModel quantized = new QuantizedModel(model, precision);
+        int numInputNodes = model.numInputNodes;
+        int numOutputNodes = model.numOutputNodes;
+        if (precision == Precision.FLOAT32){
+            quantized.floatWeights = new float[model.weights.length];
+            quantized.floatWeightSums = new double[numOutputNodes];
+            for (int outputNode = 0; outputNode < numOutputNodes; outputNode++){
+                int offset = outputNode * numInputNodes;
+                double sum = 0.0;
+                for (int i = 0; i < numInputNodes; i++){
+                    float weight = (float) model.weights[offset + i];
+                    quantized.floatWeights[offset + i] = weight;
+                    sum += weight;
+                }
+                quantized.floatWeightSums[outputNode] = sum;
+            }
+            return quantized;
+        }
+
+        quantized.int8Weights = new byte[model.weights.length];
+        quantized.int8WeightSums = new int[numOutputNodes];
+        quantized.scales = new double[numOutputNodes];
+        for (int outputNode = 0; outputNode < numOutputNodes; outputNode++){
+            int offset = outputNode * numInputNodes;
+            double maxWeight = 0.0;
+            for (int i = 0; i < numInputNodes; i++){
+                maxWeight = Math.max(maxWeight, Math.abs(model.weights[offset + i]));
+            }
+            // A node whose weights are all zero keeps a scale of 0 and all zero q values
+            double scale = maxWeight / 127.0;
+            quantized.scales[outputNode] = scale;
+            int sum = 0;
+            for (int i = 0; i < numInputNodes; i++){
+                int q = scale == 0.0 ? 0 : (int) Math.round(model.weights[offset + i] / scale);
+                quantized.int8Weights[offset + i] = (byte) q;
+                sum += q;
+            }
+            quantized.int8WeightSums[outputNode] = sum;
+        }
+        return quantized;
+    }
+
+    public void classify(DataSample sample, int[] yOut){
+    /*
+    Classifies one sample, packed or not, into a caller supplied output array
+
+    Parameters:
+    - DataSample sample: sample to classify
+    - int[] yOut: array of length numOutputNodes to fill with the net's outputs
+    */
+        long[] packedPixels = sample.isPacked() ? sample.getPackedPixels() : null;
+        int[] inputSignals = packedPixels == null ? sample.getPixelArray() : null;
+        for (int outputNode = 0; outputNode < numOutputNodes; outputNode++){
+            double yIn = packedPixels != null ? calculateYInPacked(outputNode, packedPixels) : calculateYIn(outputNode, inputSignals);
+            yOut[outputNode] = NeuralNet.applyActivationFunction(yIn, thetaThreshold);
+        }
+    }
+
+    public double accuracy(List<DataSample> dataset){
+    /*
+    Calculates the fraction of samples whose whole output vector is classified correctly
+
+    Parameters:
+    - List<DataSample> dataset: samples to classify
+
+    Return:
+    double between 0 and 1
+    */
+        int[] yOut = new int[numOutputNodes];
+        int correct = 0;
+        for (DataSample sample : dataset){
+            classify(sample, yOut);
+            if (Arrays.equals(yOut, sample.getOutputVector())){
+                correct++;
+            }
+        }
+        return dataset.isEmpty() ? 0.0 : (double) correct / dataset.size();
+    }
+
+    public double accuracy(ColumnarDataset dataset){
+    /*
+    Calculates the fraction of samples of a columnar dataset whose whole output
+    vector is classified correctly
+
+    Parameters:
+    - ColumnarDataset dataset: samples to classify
+
+    Return:
+    double between 0 and 1
+    */
+        int[] yOut = new int[numOutputNodes];
+        DataSample view = dataset.newView();
+        int correct = 0;
+        for (int sampleNum = 0; sampleNum < dataset.size(); sampleNum++){
+            classify(dataset.get(sampleNum, view), yOut);
+            if (Arrays.equals(yOut, view.getOutputVector())){
+                correct++;
+            }
+        }
+        return dataset.size() == 0 ? 0.0 : (double) correct / dataset.size();
+    }
+
+    public long weightBytes(){
+        // Bytes held by the weights, scales and bias weights
+        if (precision == Precision.FLOAT32){
+            return 4L * floatWeights.length + 8L * (floatWeightSums.length + biasWeights.length);
+        }
+        return int8Weights.length + 4L * int8WeightSums.length + 8L * (scales.length + biasWeights.length);
+    }
+
+    private double calculateYIn(int outputNode, int[] inputSignals){
+        int offset = outputNode * numInputNodes;
+        if (precision == Precision.FLOAT32){
+            double sum = 0.0;
+            for (int i = 0; i < numInputNodes; i++){
+                sum += inputSignals[i] * floatWeights[offset + i];
+            }
+            return biasWeights[outputNode] + sum;
+        }
+        int sum = 0;
+        for (int i = 0; i < numInputNodes; i++){
+            sum += inputSignals[i] * int8Weights[offset + i];
+        }
+        return biasWeights[outputNode] + scales[outputNode] * sum;
+    }
+
+    // Adds up only the weights whose pixel is +1, as FlatNeuralNet.calculateYInPacked does
+    private double calculateYInPacked(int outputNode, long[] packedPixels){
+        int offset = outputNode * numInputNodes;
+        if (precision == Precision.FLOAT32){
+            double setSum = 0.0;
+            for (int word = 0; word < packedPixels.length; word++){
+                long bits = packedPixels[word];
+                int base = offset + (word << 6);
+                while (bits != 0){
+                    setSum += floatWeights[base + Long.numberOfTrailingZeros(bits)];
+                    bits &= bits - 1;
+                }
+            }
+            return biasWeights[outputNode] - floatWeightSums[outputNode] + 2.0 * setSum;
+        }
+        int setSum = 0;
+        for (int word = 0; word < packedPixels.length; word++){
+            long bits = packedPixels[word];
+            int base = offset + (word << 6);
+            while (bits != 0){
+                setSum += int8Weights[base + Long.numberOfTrailingZeros(bits)];
+                bits &= bits - 1;
+            }
+        }
+        return biasWeights[outputNode] + scales[outputNode] * (2 * setSum - int8WeightSums[outputNode]);
+    }
+
+    public static void main(String[] args){
+        if (args.length != 2){
+            System.out.println("Usage: QuantizedModel <trained weights file> <validation data file>");
+            return;
+        }
+        PerceptronModel model;
+        try {
+            model = PerceptronModel.load(args[0]);
+        } catch (IOException e){
+            System.out.println("Error reading file: " + e.getMessage());
+            return;
+        }
+        List<DataSample> validation;
+        try {
+            validation = DatasetCache.load(args[1], true);
+        } catch (IOException e){
+            System.out.println("Error reading file: " + e.getMessage());
+            return;
+        }
+        if (validation.isEmpty()){
+            System.out.println("No samples read from " + args[1]);
+            return;
+        }
+        DataSample firstSample = validation.get(0);
+        if (firstSample.getRowDimension() * firstSample.getColumnDimension() != model.numInputNodes
+                || firstSample.getOutputDimension() != model.numOutputNodes){
+            System.out.println(args[1] + " does not match the input and output layer sizes of " + args[0]);
+            return;
+        }
+        report(model, validation);
+    }
+
+    public static void report(PerceptronModel model, List<DataSample> validation){
+    /*
+    Prints the accuracy and size of the double model and of each quantized
+    model on a validation set, with the change in accuracy and the fraction of
+    samples classified the same as by the double model
+
+    Parameters:
+    - PerceptronModel model: trained model
+    - List<DataSample> validation: samples to compare the models on
+    */
+        int[][] reference = new int[validation.size()][model.numOutputNodes];
+        BatchInference.classifyAll(model, validation, reference);
+        double baseAccuracy = FlatNeuralNet.accuracy(model, validation);
+        long baseBytes = 8L * (model.weights.length + model.biasWeights.length + model.weightSums.length);
+
+        System.out.println(String.format("%-9s %-12s %-9s %-10s %-10s", "precision", "bytes", "accuracy", "change", "agreement"));
+        System.out.println(String.format("%-9s %-12d %-9.4f %-10s %-10s", "double", baseBytes, baseAccuracy, "-", "-"));
+        int[] yOut = new int[model.numOutputNodes];
+        for (Precision precision : Precision.values()){
+            QuantizedModel quantized = quantize(model, precision);
+            int correct = 0;
+            int agreed = 0;
+            for (int n = 0; n < validation.size(); n++){
+                DataSample sample = validation.get(n);
+                quantized.classify(sample, yOut);
+                if (Arrays.equals(yOut, sample.getOutputVector())){
+                    correct++;
+                }
+                if (Arrays.equals(yOut, reference[n])){
+                    agreed++;
+                }
+            }
+            double accuracy = (double) correct / validation.size();
+            System.out.println(String.format("%-9s %-12d %-9.4f %-+10.4f %-10.4f", precision.name().toLowerCase(Locale.ROOT),
+                quantized.weightBytes(), accuracy, accuracy - baseAccuracy, (double) agreed / validation.size()));
+        }
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * This program defines the writers of a test's results file.  A writer is given
+ * each sample with the outputs the net classified it as, in sample order, and
+ * finishes the file when it is closed.  Formats, as given in the testing
+ * settings:
+ *     human     the Actual/Classified blocks of NeuralNet.saveResultsToFile
+ *     csv       one line per sample: index,expected,predicted,output 1,...
+ *               (predicted is Undecided when no label has the outputs)
+ *     binary    one record per sample, little-endian, after a 16 byte header
+ *               of magic "PCRS", int version, int output dimension and an
+ *               unused int: int index, char expected, char predicted (0 when
+ *               undecided), then the outputs in longs, a set bit for +1
+ *               and a clear bit for -1 or 0
+ *     summary   only the accuracy and a confusion matrix of expected label
+ *               against predicted label, written when the writer is closed
+ *
+ * Numbers are written digit by digit into buffered output, so writing a
+ * sample creates no Strings.  Labels are learned from the samples as they are
+ * written unless a registry of the whole dataset is given.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Locale;
+
+public interface ResultWriter extends Closeable {
+    int BUFFER_SIZE = 1 << 16;
+
+    enum Format {
+        HUMAN, CSV, BINARY, SUMMARY;
+
+        public static Format parse(String name){
+            return CommandLineOptions.parseEnum(Format.class, name);
+        }
+    }
+
+    void write(int sampleNum, DataSample sample, int[] outputs) throws IOException;
+
+    static ResultWriter open(Format format, String fileName, LabelRegistry labels) throws IOException{
+    /*
+    Creates the writer of a results file
+
+    Parameters:
+    - Format format: format of the file, or null for HUMAN
+    - String fileName: path of the results file
+    - LabelRegistry labels: labels of the whole dataset, or null to learn them from the samples
+
+    Return:
+    ResultWriter writing the file
+    */
+        LabelRegistry registry = labels != null ? labels : new LabelRegistry();
+        boolean learnLabels = labels == null;
+        switch (format == null ? Format.HUMAN : format){
+            case CSV:
+                return new Csv(fileName, registry, learnLabels);
+            case BINARY:
+                return new Binary(fileName, registry, learnLabels);
+            case SUMMARY:
+                return new Summary(fileName, registry);
+            default:
+                return new Human(fileName, registry, learnLabels);
+        }
+    }
+
+    static void writeInt(Writer writer, int value) throws IOException{
+        // Writes the digits one at a time instead of through Integer.toString
+        if (value < 0){
+            writer.write('-');
+            if (value == Integer.MIN_VALUE){
+                writer.write("2147483648");
+                return;
+            }
+            value = -value;
+        }
+        int divisor = 1;
+        while (value / divisor >= 10){
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10){
+            writer.write('0' + (value / divisor) % 10);
+        }
+    }
+
+    static void writeVector(Writer writer, int[] vector) throws IOException{
+        // Same text as NeuralNet.Label.arrayToString: every value followed by a space
+        for (int value : vector){
+            writeInt(writer, value);
+            writer.write(' ');
+        }
+    }
+
+    class Human implements ResultWriter {
+        private final BufferedWriter writer;
+        private final LabelRegistry labels;
+        private final boolean learnLabels;
+
+        Human(String fileName, LabelRegistry labels, boolean learnLabels) throws IOException{
+            this.writer = new BufferedWriter(new FileWriter(fileName), BUFFER_SIZE);
+            this.labels = labels;
+            this.learnLabels = learnLabels;
+        }
+
+        public void write(int sampleNum, DataSample sample, int[] outputs) throws IOException{
+            if (learnLabels){
+                labels.add(sample);
+            }
+            NeuralNet.writeResult(writer, outputs, sample, labels);
+        }
+
+        public void close() throws IOException{
+            try {
+                NeuralNet.writeResultsEnd(writer);
+            } finally {
+                writer.close();
+            }
+        }
+    }
+
+    class Csv implements ResultWriter {
+        private final BufferedWriter writer;
+        private final LabelRegistry labels;
+        private final boolean learnLabels;
+        private boolean headerWritten;
+
+        Csv(String fileName, LabelRegistry labels, boolean learnLabels) throws IOException{
+            this.writer = new BufferedWriter(new FileWriter(fileName), BUFFER_SIZE);
+            this.labels = labels;
+            this.learnLabels = learnLabels;
+        }
+
+        public void write(int sampleNum, DataSample sample, int[] outputs) throws IOException{
+            if (!headerWritten){
+                writer.write("index,expected,predicted");
+                for (int k = 1; k <= outputs.length; k++){
+                    writer.write(",output ");
+                    writeInt(writer, k);
+                }
+                writer.write('\n');
+                headerWritten = true;
+            }
+            if (learnLabels){
+                labels.add(sample);
+            }
+            String predicted = labels.nameOf(outputs);
+            writeInt(writer, sampleNum);
+            writer.write(',');
+            writer.write(sample.getLabel());
+            writer.write(',');
+            writer.write(predicted == null ? "Undecided" : predicted);
+            for (int value : outputs){
+                writer.write(',');
+                writeInt(writer, value);
+            }
+            writer.write('\n');
+        }
+
+        public void close() throws IOException{
+            writer.close();
+        }
+    }
+
+    class Binary implements ResultWriter {
+        private static final byte[] MAGIC = {'P', 'C', 'R', 'S'};
+        private static final int VERSION = 1;
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private final LabelRegistry labels;
+        private final boolean learnLabels;
+        private boolean headerWritten;
+
+        Binary(String fileName, LabelRegistry labels, boolean learnLabels) throws IOException{
+            this.channel = new FileOutputStream(fileName).getChannel();
+            this.labels = labels;
+            this.learnLabels = learnLabels;
+        }
+
+        public void write(int sampleNum, DataSample sample, int[] outputs) throws IOException{
+            int outputWords = (outputs.length + 63) >>> 6;
+            if (!headerWritten){
+                buffer.put(MAGIC).putInt(VERSION).putInt(outputs.length).putInt(0);
+                headerWritten = true;
+            }
+            if (buffer.remaining() < Integer.BYTES + 2 * Character.BYTES + outputWords * Long.BYTES){
+                flush();
+            }
+            if (learnLabels){
+                labels.add(sample);
+            }
+            String predicted = labels.nameOf(outputs);
+            buffer.putInt(sampleNum);
+            buffer.putChar(sample.getLabel());
+            buffer.putChar(predicted == null ? (char) 0 : predicted.charAt(0));
+            for (int word = 0; word < outputWords; word++){
+                long bits = 0L;
+                int end = Math.min(outputs.length, (word + 1) << 6);
+                for (int k = word << 6; k < end; k++){
+                    if (outputs[k] > 0){
+                        bits |= 1L << k;
+                    }
+                }
+                buffer.putLong(bits);
+            }
+        }
+
+        private void flush() throws IOException{
+            buffer.flip();
+            while (buffer.hasRemaining()){
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        public void close() throws IOException{
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    class Summary implements ResultWriter {
+        private final String fileName;
+        private final LabelRegistry labels;
+        private int samples;
+        private int correct;
+        // counts[expected * columns + predicted], where the last column counts undecided samples
+        private long[] counts = new long[0];
+        private int columns;
+
+        Summary(String fileName, LabelRegistry labels){
+            this.fileName = fileName;
+            this.labels = labels;
+        }
+
+        public void write(int sampleNum, DataSample sample, int[] outputs) throws IOException{
+            int expected = labels.add(sample);
+            if (labels.size() >= columns){
+                grow(labels.size() + 8);
+            }
+            // A prediction whose outputs match no label of the dataset is counted as undecided
+            int predicted = labels.find(outputs);
+            samples++;
+            if (Arrays.equals(outputs, sample.getOutputVector())){
+                correct++;
+            }
+            if (expected >= 0){
+                counts[expected * columns + (predicted >= 0 ? predicted : columns - 1)]++;
+            }
+        }
+
+        // Copies the counts into a larger matrix so new labels get a row and a column
+        private void grow(int newColumns){
+            long[] grown = new long[newColumns * newColumns];
+            for (int row = 0; row < columns; row++){
+                System.arraycopy(counts, row * columns, grown, row * newColumns, columns - 1);
+                grown[row * newColumns + newColumns - 1] = counts[row * columns + columns - 1];
+            }
+            counts = grown;
+            columns = newColumns;
+        }
+
+        public void close() throws IOException{
+            try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName))){
+                writer.write(String.format(Locale.ROOT, "Accuracy: %d / %d = %.4f%n%n", correct, samples,
+                    samples == 0 ? 0.0 : (double) correct / samples));
+                writer.write("Confusion matrix (rows are expected labels, columns are predicted labels):");
+                writer.newLine();
+                writer.write(String.format(Locale.ROOT, "%-10s", ""));
+                for (int entry = 0; entry < labels.size(); entry++){
+                    writer.write(String.format(Locale.ROOT, " %9s", labels.getName(entry)));
+                }
+                writer.write(String.format(Locale.ROOT, " %9s", "Undecided"));
+                writer.newLine();
+                for (int row = 0; row < labels.size(); row++){
+                    writer.write(String.format(Locale.ROOT, "%-10s", labels.getName(row)));
+                    for (int entry = 0; entry < labels.size(); entry++){
+                        writer.write(String.format(Locale.ROOT, " %9d", counts[row * columns + entry]));
+                    }
+                    writer.write(String.format(Locale.ROOT, " %9d", counts[row * columns + columns - 1]));
+                    writer.newLine();
+                }
+            }
+        }
+    }
+}
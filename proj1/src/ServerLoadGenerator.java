@@ -0,0 +1,150 @@
+/*
+ * This program implements a load generator for ClassificationServer.  It opens
+ * a number of connections, each sending the samples of a data file as
+ * CLASSIFY requests one after another, and reports throughput and client side
+ * latency percentiles, followed by the server's own STATS line.  Throughput
+ * counts only the requests that were answered, so a connection that fails
+ * early does not inflate it.
+ *
+ * Usage:
+ *     ServerLoadGenerator <port | unix:/path/to/socket> <model name> <data file> [connections=8] [requests=10000]
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ServerLoadGenerator {
+    public static void main(String[] args){
+        String usage = "Usage: ServerLoadGenerator <port | unix:/path/to/socket> <model name> <data file> [connections=8] [requests=10000]";
+        if (args.length < 3){
+            System.out.println(usage);
+            return;
+        }
+        int connections;
+        int requestsPerConnection;
+        try {
+            ClassificationServer.parseAddress(args[0]);
+            CommandLineOptions options = CommandLineOptions.parse(args, 3, false, "connections", "requests");
+            connections = options.getInt("connections", 8);
+            requestsPerConnection = options.getInt("requests", 10000);
+            if (connections < 1 || requestsPerConnection < 1){
+                throw new IllegalArgumentException("connections and requests must be at least 1");
+            }
+        } catch (IllegalArgumentException e){
+            System.out.println(e.getMessage());
+            System.out.println(usage);
+            return;
+        }
+        try {
+            run(args[0], args[1], args[2], connections, requestsPerConnection);
+        } catch (IOException | InterruptedException e){
+            System.out.println("Load generator failed: " + e.getMessage());
+        }
+    }
+
+    public static void run(String address, String modelName, String dataFileName, int connections, int requestsPerConnection)
+            throws IOException, InterruptedException{
+    /*
+    Sends requests from several connections at once and prints the results
+
+    Parameters:
+    - String address: server address, as given to ClassificationServer
+    - String modelName: name of the model to classify with
+    - String dataFileName: data file whose samples are sent as patterns
+    - int connections: number of concurrent connections
+    - int requestsPerConnection: requests each connection sends
+    */
+        List<DataSample> dataset = FileParser.parseDataFileMapped(dataFileName, false);
+        List<String> requestLines = new ArrayList<>();
+        for (DataSample sample : dataset){
+            StringBuilder line = new StringBuilder("CLASSIFY ").append(modelName).append(' ');
+            for (int pixel : sample.getPixelArray()){
+                line.append(pixel > 0 ? '+' : '-');
+            }
+            requestLines.add(line.toString());
+        }
+        if (requestLines.isEmpty()){
+            System.out.println("No samples in " + dataFileName);
+            return;
+        }
+
+        LatencyRecorder latencies = new LatencyRecorder(1 << 20);
+        AtomicLong completed = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        List<Thread> clients = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int c = 0; c < connections; c++){
+            int offset = c;
+            Thread client = new Thread(() -> {
+                try (SocketChannel channel = connect(address);
+                        BufferedReader reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.US_ASCII));
+                        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.US_ASCII))){
+                    for (int n = 0; n < requestsPerConnection; n++){
+                        long sent = System.nanoTime();
+                        writer.write(requestLines.get((offset + n) % requestLines.size()));
+                        writer.newLine();
+                        writer.flush();
+                        String response = reader.readLine();
+                        if (response == null){
+                            errors.incrementAndGet();
+                            break;
+                        }
+                        latencies.record(System.nanoTime() - sent);
+                        completed.incrementAndGet();
+                        if (!response.startsWith("OK")){
+                            errors.incrementAndGet();
+                        }
+                    }
+                } catch (IOException e){
+                    errors.incrementAndGet();
+                }
+            });
+            client.start();
+            clients.add(client);
+        }
+        for (Thread client : clients){
+            client.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long total = completed.get();
+        System.out.println(String.format("Sent %d requests over %d connections in %.3f s: %.0f requests/s, %d errors",
+            total, connections, seconds, total / seconds, errors.get()));
+        System.out.println("Client latency: " + latencies.summary());
+        try (SocketChannel channel = connect(address);
+                BufferedReader reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.US_ASCII));
+                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.US_ASCII))){
+            writer.write("STATS");
+            writer.newLine();
+            writer.flush();
+            System.out.println("Server stats: " + reader.readLine());
+        }
+    }
+
+    static SocketChannel connect(String address) throws IOException{
+        SocketAddress socketAddress = ClassificationServer.parseAddress(address);
+        SocketChannel channel = socketAddress instanceof UnixDomainSocketAddress
+            ? SocketChannel.open(StandardProtocolFamily.UNIX) : SocketChannel.open();
+        channel.connect(socketAddress);
+        return channel;
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * This program implements a streaming test pipeline.  Instead of loading the
+ * whole test set and writing every result at the end, it chains three stages
+ * on their own threads:
+ *     parse     reads samples from the mapped data file into batches
+ *     classify  scores each batch with the trained model
+ *     write     formats each batch into the results file
+ * The stages pass batches through bounded queues, and a fixed set of batches
+ * is reused over and over, so a fast stage waits for a slow one instead of
+ * buffering ahead.  Memory use is the same for any size of test file, and
+ * results reach the file while the rest of the test set is still being read.
+ * The results file matches the one FlatNeuralNet.test writes in the same
+ * format (see ResultWriter), except that a label is known only from its first
+ * sample on: a classified vector whose label first appears later in the file
+ * is named with the default label.
+ *
+ * Usage:
+ *     StreamingTester <trained weights file> <test data file> <results file>
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+public class StreamingTester {
+    static final int BATCH_SAMPLES = 256;
+    static final int QUEUE_BATCHES = 4;
+
+    // Marks the end of the stream, or a failure in an earlier stage
+    private static final Batch END = new Batch(0, 0);
+
+    private final PerceptronModel model;
+    private final BlockingQueue<Batch> freeBatches;
+    private final BlockingQueue<Batch> parsedBatches = new ArrayBlockingQueue<>(QUEUE_BATCHES);
+    private final BlockingQueue<Batch> classifiedBatches = new ArrayBlockingQueue<>(QUEUE_BATCHES);
+    private volatile Throwable failure;
+    private int samplesWritten;
+    private int samplesCorrect;
+
+    // Constructor, creates every batch the pipeline will ever use
+    public StreamingTester(PerceptronModel model){
+        this.model = model;
+        // Enough batches to fill both queues and keep one in each stage
+        int numBatches = 2 * QUEUE_BATCHES + 3;
+        this.freeBatches = new ArrayBlockingQueue<>(numBatches);
+        for (int i = 0; i < numBatches; i++){
+            freeBatches.add(new Batch(BATCH_SAMPLES, model.numOutputNodes));
+        }
+    }
+
+    public static void main(String[] args){
+        if (args.length != 3){
+            System.out.println("Usage: StreamingTester <trained weights file> <test data file> <results file>");
+            return;
+        }
+        TestingSettings settings = new TestingSettings();
+        settings.trainedWeightsFilePath = args[0];
+        settings.testingDataFilePath = args[1];
+        settings.testingResultsOutputFilePath = args[2];
+        FileParser.parseTrainedWeights(settings);
+        if (settings.trainedModel == null){
+            return;
+        }
+        test(settings);
+    }
+
+    public static int test(TestingSettings netTestingSettings){
+    /*
+    Tests the trained model in the settings against the test data file, streaming
+    results into the results file
+
+    Parameters:
+    -Testing Settings netTestingSettings: Data structure that holds testing information provided by user.
+
+    Return:
+    int number of samples tested, or -1 if the test failed
+    */
+        try {
+            int samples = new StreamingTester(netTestingSettings.trainedModel).run(netTestingSettings.testingDataFilePath,
+                netTestingSettings.testingResultsOutputFilePath, netTestingSettings.resultFormat);
+            System.out.println("Results saved successfully to " + netTestingSettings.testingResultsOutputFilePath + "\n");
+            return samples;
+        } catch (IOException e){
+            System.out.println("Error reading file: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    public int run(String testingDataFileName, String resultsFileName) throws IOException{
+        return run(testingDataFileName, resultsFileName, ResultWriter.Format.HUMAN);
+    }
+
+    public int run(String testingDataFileName, String resultsFileName, ResultWriter.Format resultFormat) throws IOException{
+    /*
+    Runs the parse and classify stages on their own threads and the write stage
+    on the calling thread until the whole test file has been written
+
+    Parameters:
+    - String testingDataFileName: test data file in the FileParser format
+    - String resultsFileName: results file to write
+    - ResultWriter.Format resultFormat: format of the results file, or null for the human format
+
+    Return:
+    int number of samples tested
+    */
+        // Only the write stage touches the writer's labels, so learning them needs no locking
+        try (MappedDataReader reader = new MappedDataReader(testingDataFileName, true);
+                ResultWriter writer = ResultWriter.open(resultFormat, resultsFileName, null)){
+            int numInputNodes = reader.getInputRows() * reader.getInputColumns();
+            if (numInputNodes != model.numInputNodes || reader.getOutputDimensions() != model.numOutputNodes){
+                throw new IOException(testingDataFileName + " has " + numInputNodes + " inputs and " + reader.getOutputDimensions()
+                    + " outputs but the trained weights have " + model.numInputNodes + " and " + model.numOutputNodes);
+            }
+            Thread parser = new Thread(() -> parse(reader), "streaming-test-parse");
+            Thread classifier = new Thread(this::classify, "streaming-test-classify");
+            parser.start();
+            classifier.start();
+            try {
+                write(writer);
+            } finally {
+                parser.interrupt();
+                classifier.interrupt();
+                join(parser);
+                join(classifier);
+            }
+            if (failure != null){
+                if (failure instanceof IOException){
+                    throw (IOException) failure;
+                }
+                throw new IOException(failure);
+            }
+            return samplesWritten;
+        }
+    }
+
+    private void parse(MappedDataReader reader){
+        try {
+            while (reader.hasNext()){
+                Batch batch = freeBatches.take();
+                batch.count = 0;
+                while (batch.count < BATCH_SAMPLES && reader.hasNext()){
+                    batch.samples[batch.count++] = reader.next();
+                }
+                parsedBatches.put(batch);
+            }
+        } catch (IOException | RuntimeException e){
+            failure = e;
+        } catch (InterruptedException e){
+            return;
+        }
+        putEnd(parsedBatches);
+    }
+
+    private void classify(){
+        BatchInference inference = new BatchInference(model);
+        try {
+            while (true){
+                Batch batch = parsedBatches.take();
+                if (batch == END){
+                    break;
+                }
+                inference.classify(batch.sampleList, 0, batch.count, batch.classifications);
+                classifiedBatches.put(batch);
+            }
+        } catch (RuntimeException e){
+            failure = e;
+        } catch (InterruptedException e){
+            return;
+        }
+        putEnd(classifiedBatches);
+    }
+
+    private void write(ResultWriter writer) throws IOException{
+        try {
+            while (true){
+                Batch batch = classifiedBatches.take();
+                if (batch == END){
+                    return;
+                }
+                for (int n = 0; n < batch.count; n++){
+                    writer.write(samplesWritten++, batch.samples[n], batch.classifications[n]);
+                    if (Arrays.equals(batch.classifications[n], batch.samples[n].getOutputVector())){
+                        samplesCorrect++;
+                    }
+                    batch.samples[n] = null;
+                }
+                freeBatches.put(batch);
+            }
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while writing results", e);
+        }
+    }
+
+    public int getSamplesCorrect(){
+        // Samples whose whole output vector was classified correctly
+        return samplesCorrect;
+    }
+
+    // The end marker must get through even if the queue is full, so it waits like any other batch
+    private static void putEnd(BlockingQueue<Batch> queue){
+        try {
+            queue.put(END);
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void join(Thread thread){
+        try {
+            thread.join();
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Data structure to hold a batch of samples and their classifications as it moves through the stages
+    private static class Batch {
+        final DataSample[] samples;
+        final List<DataSample> sampleList;
+        final int[][] classifications;
+        int count;
+
+        Batch(int capacity, int numOutputNodes){
+            this.samples = new DataSample[capacity];
+            this.sampleList = Arrays.asList(samples);
+            this.classifications = new int[capacity][numOutputNodes];
+        }
+    }
+}
@@ -6,7 +6,7 @@
  * - David Kujawinski
  * - Dinh Troung
  * 
- * Date Last Modified: 3/7/2025
+ * Date Last Modified: 10/17/2026
  */
 
 import java.util.List;
@@ -17,6 +17,13 @@ public class TestingSettings {
     String testingResultsOutputFilePath;
     double[][] trainedWeightMatrix;
     double[] trainedBiasWeights;
+    PerceptronModel trainedModel;
     List<DataSample> dataset;
+    boolean columnar;
+    ColumnarDataset columnarDataset;
     double thetaThreshold;
+    boolean streamResults;
+    QuantizedModel.Precision quantization;
+    QuantizedModel quantizedModel;
+    ResultWriter.Format resultFormat;
 }
@@ -6,7 +6,7 @@
  * - David Kujawinski
  * - Dinh Troung
  * 
- * Date Last Modified: 3/7/2025
+ * Date Last Modified: 10/17/2026
  */
 
 import java.util.List;
@@ -19,5 +19,18 @@ public class TrainingSettings {
     double learningRate;
     double thetaThreshold;
     double weightChangeThreshold;
+    boolean trainInParallel;
+    String telemetryFilePath;
+    long datasetLoadNanos;
+    String initialWeightsFilePath;
+    String trainingSubset;
+    String kernel;
     List<DataSample> dataset;
+    boolean columnar;
+    ColumnarDataset columnarDataset;
+    TrainingStrategy.Algorithm trainingAlgorithm;
+    boolean shuffleEpochs;
+    long shuffleSeed;
+    int batchSize;
+    double targetAccuracy;
 }
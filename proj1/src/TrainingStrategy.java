@@ -0,0 +1,343 @@
+/*
+ * This program implements training algorithms that converge in fewer epochs
+ * than the plain perceptron rule on noisy data, where the plain rule keeps
+ * changing weights until maxEpochs and ends on whatever weights the last
+ * mistake left.  Every algorithm applies the same per-node update as
+ * FlatNeuralNet, so the learning rate and weight change threshold mean the
+ * same thing:
+ *     perceptron   the plain rule, an update after every mistake
+ *     pocket       the plain rule, but the weights with the best training
+ *                  accuracy seen at the end of an epoch are kept "in the
+ *                  pocket" and are the ones returned
+ *     averaged     the plain rule, but the weights returned are the average of
+ *                  the weights after every sample, which smooths out the last
+ *                  few mistakes; the average is kept with a second weight set
+ *                  u that adds c times each update, c the number of samples
+ *                  seen, so the average is w - u / c without summing every step
+ *     minibatch    mistakes are found with the weights of the batch's start and
+ *                  their updates are added up and applied once per batch
+ * Any of them can visit the samples in a new random order every epoch, by way
+ * of a shuffled permutation of the sample indexes, so no samples are copied.
+ *
+ * With a target accuracy, training stops at the end of the first epoch whose
+ * returned weights classify that fraction of the training samples correctly,
+ * and the epoch and time it was reached are reported.
+ *
+ * Usage, to compare the algorithms on one data file:
+ *     TrainingStrategy <data file> [target=0.9] [maxEpochs=100] [learningRate=1.0] [thetaThreshold=0.0]
+ *                      [weightChangeThreshold=0.001] [zeroWeights=true] [batchSize=32] [seed=42]
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+public class TrainingStrategy {
+    static final int DEFAULT_BATCH_SIZE = 32;
+
+    public enum Algorithm {
+        PERCEPTRON, POCKET, AVERAGED, MINIBATCH;
+
+        public static Algorithm parse(String name){
+            return CommandLineOptions.parseEnum(Algorithm.class, name);
+        }
+    }
+
+    public static boolean isSelected(TrainingSettings netTrainingSettings){
+    /*
+    Checks whether the settings ask for anything the plain training loop does not do
+
+    Parameters:
+    - TrainingSettings netTrainingSettings: settings to check
+
+    Return:
+    boolean, true if training should go through this class
+    */
+        Algorithm algorithm = netTrainingSettings.trainingAlgorithm;
+        return (algorithm != null && algorithm != Algorithm.PERCEPTRON) || netTrainingSettings.shuffleEpochs
+            || netTrainingSettings.targetAccuracy > 0.0;
+    }
+
+    public static Result train(PerceptronModel model, List<DataSample> dataset, TrainingSettings netTrainingSettings){
+    /*
+    Trains a model with the algorithm, sample order and target accuracy of the
+    settings, leaving the weights the algorithm returns in the model
+
+    Parameters:
+    - PerceptronModel model: model to train in place
+    - List<DataSample> dataset: samples to train on
+    - TrainingSettings netTrainingSettings: learning rate, theta, thresholds, max epochs and strategy
+
+    Return:
+    Result with the epochs run, when the target accuracy was reached and the final training accuracy
+    */
+        return train(model, dataset, netTrainingSettings, null);
+    }
+
+    public static Result train(PerceptronModel model, List<DataSample> dataset, TrainingSettings netTrainingSettings, TrainingTelemetry telemetry){
+    /*
+    Trains a model as above, recording per-epoch telemetry of the working
+    weights if it is given.  If telemetry cannot be written, the error is
+    reported and the rest of training runs without it.
+
+    Parameters:
+    - PerceptronModel model: model to train in place
+    - List<DataSample> dataset: samples to train on
+    - TrainingSettings netTrainingSettings: learning rate, theta, thresholds, max epochs and strategy
+    - TrainingTelemetry telemetry: telemetry to record, or null for none
+
+    Return:
+    Result with the epochs run, when the target accuracy was reached and the final training accuracy
+    */
+        long start = System.nanoTime();
+        Algorithm algorithm = netTrainingSettings.trainingAlgorithm == null ? Algorithm.PERCEPTRON : netTrainingSettings.trainingAlgorithm;
+        double learningRate = netTrainingSettings.learningRate;
+        double weightChangeThreshold = netTrainingSettings.weightChangeThreshold;
+        double targetAccuracy = netTrainingSettings.targetAccuracy;
+        int batchSize = netTrainingSettings.batchSize > 0 ? netTrainingSettings.batchSize : DEFAULT_BATCH_SIZE;
+        int numOutputNodes = model.numOutputNodes;
+
+        int[] order = new int[dataset.size()];
+        for (int n = 0; n < order.length; n++){
+            order[n] = n;
+        }
+        SplittableRandom random = netTrainingSettings.shuffleEpochs ? new SplittableRandom(netTrainingSettings.shuffleSeed) : null;
+
+        // The weights the algorithm would return if training stopped now
+        PerceptronModel returned = model;
+        double pocketAccuracy = 0.0;
+        PerceptronModel accumulated = null;
+        PerceptronModel batchDeltas = null;
+        long samplesSeen = 1;
+        if (algorithm == Algorithm.POCKET){
+            returned = model.copy();
+            pocketAccuracy = FlatNeuralNet.accuracy(model, dataset);
+        } else if (algorithm == Algorithm.AVERAGED){
+            returned = model.copy();
+            accumulated = new PerceptronModel(model.numInputNodes, numOutputNodes, model.thetaThreshold);
+        } else if (algorithm == Algorithm.MINIBATCH){
+            batchDeltas = new PerceptronModel(model.numInputNodes, numOutputNodes, model.thetaThreshold);
+        }
+
+        Result result = new Result();
+        boolean converged = false;
+        int epochNum = 0;
+        while (!converged && epochNum < netTrainingSettings.maxEpochs){
+            epochNum++;
+            if (telemetry != null){
+                telemetry.beginEpoch(epochNum);
+            }
+            if (random != null){
+                shuffle(order, random);
+            }
+            boolean weightChanged = false;
+            boolean batchChanged = false;
+            int batchCount = 0;
+            for (int k = 0; k < order.length; k++){
+                DataSample sample = dataset.get(order[k]);
+                int[] targetOutputs = sample.getOutputVector();
+                boolean sampleMisclassified = false;
+                for (int outputNode = 0; outputNode < numOutputNodes; outputNode++){
+                    int targetOutput = targetOutputs[outputNode];
+                    if (FlatNeuralNet.calculateOutput(model, sample, outputNode) == targetOutput){
+                        continue;
+                    }
+                    sampleMisclassified = true;
+                    if (telemetry != null){
+                        telemetry.recordMisclassification(sample, outputNode, learningRate * targetOutput, weightChangeThreshold);
+                    }
+                    if (algorithm == Algorithm.MINIBATCH){
+                        batchChanged |= FlatNeuralNet.updateNode(batchDeltas, sample, outputNode, targetOutput, learningRate, weightChangeThreshold);
+                    } else if (FlatNeuralNet.updateNode(model, sample, outputNode, targetOutput, learningRate, weightChangeThreshold)){
+                        weightChanged = true;
+                        if (accumulated != null){
+                            // Scaling both by c keeps the same weights past the threshold, so u gets exactly c times the update
+                            FlatNeuralNet.updateNode(accumulated, sample, outputNode, targetOutput,
+                                learningRate * samplesSeen, weightChangeThreshold * samplesSeen);
+                        }
+                    }
+                }
+                if (sampleMisclassified && telemetry != null){
+                    telemetry.recordMisclassifiedSample();
+                }
+                samplesSeen++;
+                if (batchDeltas != null && (++batchCount == batchSize || k == order.length - 1)){
+                    if (batchChanged){
+                        applyDeltas(batchDeltas, model);
+                        weightChanged = true;
+                    }
+                    batchChanged = false;
+                    batchCount = 0;
+                }
+            }
+            if (!weightChanged){
+                converged = true;
+            }
+            if (telemetry != null){
+                try {
+                    telemetry.endEpoch(dataset.size());
+                } catch (IOException e){
+                    System.out.println("Error writing telemetry: " + e.getMessage());
+                    telemetry = null;
+                }
+            }
+
+            if (algorithm == Algorithm.POCKET){
+                double accuracy = FlatNeuralNet.accuracy(model, dataset);
+                if (accuracy > pocketAccuracy){
+                    pocketAccuracy = accuracy;
+                    copyWeights(model, returned);
+                }
+            } else if (algorithm == Algorithm.AVERAGED && (targetAccuracy > 0.0 || converged || epochNum == netTrainingSettings.maxEpochs)){
+                average(model, accumulated, samplesSeen, returned);
+            }
+            if (targetAccuracy > 0.0){
+                double accuracy = algorithm == Algorithm.POCKET ? pocketAccuracy : FlatNeuralNet.accuracy(returned, dataset);
+                if (accuracy >= targetAccuracy){
+                    result.targetEpoch = epochNum;
+                    result.targetMillis = (System.nanoTime() - start) / 1_000_000.0;
+                    break;
+                }
+            }
+        }
+        if (returned != model){
+            copyWeights(returned, model);
+        }
+
+        result.algorithm = algorithm;
+        result.shuffled = random != null;
+        result.epochs = epochNum;
+        result.converged = converged;
+        result.trainMillis = (System.nanoTime() - start) / 1_000_000.0;
+        result.accuracy = FlatNeuralNet.accuracy(model, dataset);
+        return result;
+    }
+
+    // Fisher-Yates shuffle of the sample order
+    private static void shuffle(int[] order, SplittableRandom random){
+        for (int i = order.length - 1; i > 0; i--){
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+    }
+
+    // Adds a batch's summed updates to the model and clears them for the next batch
+    private static void applyDeltas(PerceptronModel batchDeltas, PerceptronModel model){
+        for (int i = 0; i < model.weights.length; i++){
+            model.weights[i] += batchDeltas.weights[i];
+        }
+        for (int outputNode = 0; outputNode < model.numOutputNodes; outputNode++){
+            model.biasWeights[outputNode] += batchDeltas.biasWeights[outputNode];
+            model.weightSums[outputNode] += batchDeltas.weightSums[outputNode];
+        }
+        Arrays.fill(batchDeltas.weights, 0.0);
+        Arrays.fill(batchDeltas.biasWeights, 0.0);
+        Arrays.fill(batchDeltas.weightSums, 0.0);
+    }
+
+    // Writes the averaged weights w - u / c into the averaged model
+    private static void average(PerceptronModel model, PerceptronModel accumulated, long samplesSeen, PerceptronModel averaged){
+        for (int i = 0; i < model.weights.length; i++){
+            averaged.weights[i] = model.weights[i] - accumulated.weights[i] / samplesSeen;
+        }
+        for (int outputNode = 0; outputNode < model.numOutputNodes; outputNode++){
+            averaged.biasWeights[outputNode] = model.biasWeights[outputNode] - accumulated.biasWeights[outputNode] / samplesSeen;
+        }
+        averaged.computeWeightSums();
+    }
+
+    private static void copyWeights(PerceptronModel from, PerceptronModel to){
+        System.arraycopy(from.weights, 0, to.weights, 0, from.weights.length);
+        System.arraycopy(from.biasWeights, 0, to.biasWeights, 0, from.biasWeights.length);
+        System.arraycopy(from.weightSums, 0, to.weightSums, 0, from.weightSums.length);
+    }
+
+    public static void main(String[] args){
+        String usage = "Usage: TrainingStrategy <data file> [target=0.9] [maxEpochs=100] [learningRate=1.0] [thetaThreshold=0.0]"
+            + " [weightChangeThreshold=0.001] [zeroWeights=true] [batchSize=32] [seed=42]";
+        if (args.length < 1){
+            System.out.println(usage);
+            return;
+        }
+        TrainingSettings settings = new TrainingSettings();
+        settings.trainingDataFilePath = args[0];
+        try {
+            CommandLineOptions options = CommandLineOptions.parse(args, 1, false, "target", "maxEpochs", "learningRate",
+                "thetaThreshold", "weightChangeThreshold", "zeroWeights", "batchSize", "seed");
+            settings.targetAccuracy = options.getDouble("target", 0.9);
+            settings.maxEpochs = options.getInt("maxEpochs", 100);
+            settings.learningRate = options.getDouble("learningRate", 1.0);
+            settings.thetaThreshold = options.getDouble("thetaThreshold", 0.0);
+            settings.weightChangeThreshold = options.getDouble("weightChangeThreshold", 0.001);
+            settings.setWeightsToZero = options.getBoolean("zeroWeights", true);
+            settings.batchSize = options.getInt("batchSize", DEFAULT_BATCH_SIZE);
+            settings.shuffleSeed = options.getLong("seed", 42);
+        } catch (IllegalArgumentException e){
+            System.out.println(e.getMessage());
+            System.out.println(usage);
+            return;
+        }
+
+        try {
+            List<DataSample> dataset = DatasetCache.load(args[0], true);
+            if (dataset.isEmpty()){
+                System.out.println("No samples read from " + args[0]);
+                return;
+            }
+            compare(dataset, settings);
+        } catch (IOException e){
+            System.out.println("Error reading file: " + e.getMessage());
+        }
+    }
+
+    public static void compare(List<DataSample> dataset, TrainingSettings settings){
+    /*
+    Trains every algorithm, in file order and shuffled, from the same starting
+    weights and prints how soon each reached the target accuracy
+
+    Parameters:
+    - List<DataSample> dataset: samples to train on
+    - TrainingSettings settings: shared settings; the algorithm and shuffling are set for each run
+    */
+        PerceptronModel initial = FlatNeuralNet.createModel(dataset.get(0), settings);
+        System.out.println(String.format("%-11s %-9s %-7s %-10s %-9s %-13s %-10s %-10s", "algorithm", "shuffled", "epochs", "converged",
+            "accuracy", "target epoch", "target ms", "total ms"));
+        for (Algorithm algorithm : Algorithm.values()){
+            for (boolean shuffled : new boolean[]{false, true}){
+                settings.trainingAlgorithm = algorithm;
+                settings.shuffleEpochs = shuffled;
+                Result result = train(initial.copy(), dataset, settings);
+                System.out.println(String.format("%-11s %-9s %-7d %-10s %-9.4f %-13s %-10s %-10.2f", algorithm.name().toLowerCase(Locale.ROOT),
+                    shuffled, result.epochs, result.converged, result.accuracy,
+                    result.targetEpoch > 0 ? String.valueOf(result.targetEpoch) : "-",
+                    result.targetEpoch > 0 ? String.format("%.2f", result.targetMillis) : "-", result.trainMillis));
+            }
+        }
+        System.out.println(String.format("Target training accuracy %.4f over %d samples, at most %d epochs", settings.targetAccuracy,
+            dataset.size(), settings.maxEpochs));
+    }
+
+    // Data structure to hold the outcome of one training run
+    public static class Result {
+        Algorithm algorithm;
+        boolean shuffled;
+        int epochs;
+        boolean converged;
+        // 0 if there was no target or it was not reached
+        int targetEpoch;
+        double targetMillis;
+        double trainMillis;
+        double accuracy;
+    }
+}
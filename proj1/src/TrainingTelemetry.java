@@ -0,0 +1,273 @@
+/*
+ * This program implements per-epoch training telemetry.  For every epoch it
+ * records how many times each output node misclassified a sample, how many
+ * weight updates were applied and how many were suppressed by the weight change
+ * threshold, and the samples trained per second.  It also records how long the
+ * parse, train and save phases took.
+ *
+ * Every record is committed as a custom JFR event (perceptron.TrainingEpoch and
+ * perceptron.TrainingPhase) when a flight recording has them enabled, and is
+ * optionally written to a file: JSON lines if the file name ends with .json and
+ * CSV otherwise.  Training without telemetry runs the plain training loop, so
+ * turning telemetry off costs nothing per sample.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+public class TrainingTelemetry implements Closeable {
+    static final String CSV_HEADER = "record,epoch,samples,misclassifiedSamples,updatesApplied,updatesSuppressed,samplesPerSecond,millis,misclassifiedPerNode";
+
+    private final BufferedWriter writer;
+    private final boolean json;
+    private final int[] nodeMisclassifications;
+    private int misclassifiedSamples;
+    private long updatesApplied;
+    private long updatesSuppressed;
+    private int epoch;
+    private long epochStart;
+
+    // Constructor, writer is null when only JFR events are wanted
+    private TrainingTelemetry(BufferedWriter writer, boolean json, int numOutputNodes){
+        this.writer = writer;
+        this.json = json;
+        this.nodeMisclassifications = new int[numOutputNodes];
+    }
+
+    public static TrainingTelemetry open(String telemetryFileName, int numOutputNodes) throws IOException{
+    /*
+    Starts telemetry for one training run
+
+    Parameters:
+    - String telemetryFileName: file to stream records to, or null for JFR events only
+    - int numOutputNodes: number of output nodes of the model being trained
+
+    Return:
+    TrainingTelemetry, or null if there is no file and no JFR recording wants the events
+    */
+        if (telemetryFileName == null){
+            return isJfrEnabled() ? new TrainingTelemetry(null, false, numOutputNodes) : null;
+        }
+        boolean json = telemetryFileName.endsWith(".json");
+        BufferedWriter writer = new BufferedWriter(new FileWriter(telemetryFileName));
+        if (!json){
+            writer.write(CSV_HEADER);
+            writer.newLine();
+        }
+        return new TrainingTelemetry(writer, json, numOutputNodes);
+    }
+
+    public static boolean isJfrEnabled(){
+    /*
+    Checks whether a running flight recording has either telemetry event enabled
+
+    Return:
+    boolean representing if JFR events would be recorded
+    */
+        // Asking an event instance does not start JFR when no recording is running
+        return new TrainingEpochEvent().isEnabled() || new TrainingPhaseEvent().isEnabled();
+    }
+
+    public void beginEpoch(int epochNum){
+    /*
+    Resets the counters at the start of an epoch
+
+    Parameters:
+    - int epochNum: number of the epoch, starting at 1
+    */
+        epoch = epochNum;
+        Arrays.fill(nodeMisclassifications, 0);
+        misclassifiedSamples = 0;
+        updatesApplied = 0;
+        updatesSuppressed = 0;
+        epochStart = System.nanoTime();
+    }
+
+    public void recordMisclassification(DataSample sample, int outputNode, double nodeDelta, double weightChangeThreshold){
+    /*
+    Records one output node misclassifying a sample, and which of the weight
+    updates that follow pass the weight change threshold
+
+    Parameters:
+    - DataSample sample: misclassified sample, packed or not
+    - int outputNode: output node that was wrong
+    - double nodeDelta: learning rate times the node's target output
+    - double weightChangeThreshold: threshold to stabilize weight change
+    */
+        nodeMisclassifications[outputNode]++;
+        int numInputNodes = sample.getRowDimension() * sample.getColumnDimension();
+        long applied = nodeDelta > weightChangeThreshold ? 1 : 0;
+        if (sample.isPacked()){
+            // Pixels of +1 change by nodeDelta and pixels of -1 by -nodeDelta
+            int setPixels = 0;
+            for (long word : sample.getPackedPixels()){
+                setPixels += Long.bitCount(word);
+            }
+            if (nodeDelta > weightChangeThreshold){
+                applied += setPixels;
+            } else if (-nodeDelta > weightChangeThreshold){
+                applied += numInputNodes - setPixels;
+            }
+        } else {
+            for (int pixel : sample.getPixelArray()){
+                if (nodeDelta * pixel > weightChangeThreshold){
+                    applied++;
+                }
+            }
+        }
+        updatesApplied += applied;
+        updatesSuppressed += numInputNodes + 1 - applied;
+    }
+
+    public void recordMisclassifiedSample(){
+    /*
+    Records a sample that at least one output node misclassified this epoch
+    */
+        misclassifiedSamples++;
+    }
+
+    public void endEpoch(int numSamples) throws IOException{
+    /*
+    Emits the record of the epoch that just finished
+
+    Parameters:
+    - int numSamples: number of samples trained on during the epoch
+    */
+        long nanos = System.nanoTime() - epochStart;
+        double samplesPerSecond = nanos == 0 ? 0.0 : numSamples * 1e9 / nanos;
+        String perNode = arrayToString(nodeMisclassifications);
+
+        TrainingEpochEvent event = new TrainingEpochEvent();
+        if (event.isEnabled()){
+            event.epoch = epoch;
+            event.samples = numSamples;
+            event.misclassifiedSamples = misclassifiedSamples;
+            event.updatesApplied = updatesApplied;
+            event.updatesSuppressed = updatesSuppressed;
+            event.samplesPerSecond = samplesPerSecond;
+            event.epochNanos = nanos;
+            event.misclassifiedPerNode = perNode;
+            event.commit();
+        }
+        if (writer == null){
+            return;
+        }
+        if (json){
+            writer.write("{\"record\":\"epoch\",\"epoch\":" + epoch + ",\"samples\":" + numSamples
+                + ",\"misclassifiedSamples\":" + misclassifiedSamples + ",\"updatesApplied\":" + updatesApplied
+                + ",\"updatesSuppressed\":" + updatesSuppressed + ",\"samplesPerSecond\":" + String.format(Locale.ROOT, "%.1f", samplesPerSecond)
+                + ",\"millis\":" + String.format(Locale.ROOT, "%.3f", nanos / 1e6) + ",\"misclassifiedPerNode\":[" + perNode.replace(' ', ',') + "]}");
+        } else {
+            writer.write("epoch," + epoch + "," + numSamples + "," + misclassifiedSamples + "," + updatesApplied + ","
+                + updatesSuppressed + "," + String.format(Locale.ROOT, "%.1f", samplesPerSecond) + "," + String.format(Locale.ROOT, "%.3f", nanos / 1e6) + "," + perNode);
+        }
+        writer.newLine();
+    }
+
+    public void recordPhase(String phase, long nanos) throws IOException{
+    /*
+    Emits the time taken by one phase of the run
+
+    Parameters:
+    - String phase: name of the phase, such as parse, train or save
+    - long nanos: time the phase took in nanoseconds
+    */
+        TrainingPhaseEvent event = new TrainingPhaseEvent();
+        if (event.isEnabled()){
+            event.phase = phase;
+            event.phaseNanos = nanos;
+            event.commit();
+        }
+        if (writer == null){
+            return;
+        }
+        if (json){
+            writer.write("{\"record\":\"" + phase + "\",\"millis\":" + String.format(Locale.ROOT, "%.3f", nanos / 1e6) + "}");
+        } else {
+            writer.write(phase + ",,,,,,," + String.format(Locale.ROOT, "%.3f", nanos / 1e6) + ",");
+        }
+        writer.newLine();
+    }
+
+    private static String arrayToString(int[] values){
+        StringBuilder text = new StringBuilder(values.length * 3);
+        for (int i = 0; i < values.length; i++){
+            if (i > 0){
+                text.append(' ');
+            }
+            text.append(values[i]);
+        }
+        return text.toString();
+    }
+
+    @Override
+    public void close() throws IOException{
+        if (writer != null){
+            writer.close();
+        }
+    }
+
+    // JFR event committed once per training epoch
+    @Name("perceptron.TrainingEpoch")
+    @Label("Training Epoch")
+    @Category("Perceptron")
+    @Description("Misclassifications and weight updates during one training epoch")
+    static class TrainingEpochEvent extends Event {
+        @Label("Epoch")
+        int epoch;
+
+        @Label("Samples")
+        int samples;
+
+        @Label("Misclassified Samples")
+        int misclassifiedSamples;
+
+        @Label("Updates Applied")
+        long updatesApplied;
+
+        @Label("Updates Suppressed")
+        @Description("Weight updates not applied because the delta did not pass the weight change threshold")
+        long updatesSuppressed;
+
+        @Label("Samples Per Second")
+        double samplesPerSecond;
+
+        @Label("Epoch Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long epochNanos;
+
+        @Label("Misclassified Per Node")
+        @Description("Misclassification count of each output node, separated by spaces")
+        String misclassifiedPerNode;
+    }
+
+    // JFR event committed once per phase of a training run
+    @Name("perceptron.TrainingPhase")
+    @Label("Training Phase")
+    @Category("Perceptron")
+    static class TrainingPhaseEvent extends Event {
+        @Label("Phase")
+        String phase;
+
+        @Label("Phase Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long phaseNanos;
+    }
+}
@@ -7,10 +7,11 @@
  * - David Kujawinski
  * - Dinh Troung
  * 
- * Date Last Modified: 3/7/2025
+ * Date Last Modified: 10/17/2026
  */
 
 import java.io.File;
+import java.io.IOException;
 import java.util.Scanner;
 
 public class UserIO {
@@ -28,6 +29,9 @@ public class UserIO {
     // Create scanner object
     static Scanner scanner = new Scanner(System.in);
 
+    // Models tested during this session, reused until their weights file changes
+    static ModelCache modelCache = new ModelCache(ModelCache.DEFAULT_BUDGET_BYTES);
+
     /*
     Collects user input on main menu selection, and performs
     action specified by user.
@@ -51,8 +55,15 @@ public class UserIO {
                 // User selects training
                 case 1:
                     netTrainingSettings = getTrainingSettings(netTrainingSettings);
-                    netTrainingSettings.dataset = FileParser.parseDataFile(netTrainingSettings.trainingDataFilePath);
-                    int numEpochs = NeuralNet.train(netTrainingSettings);
+                    try {
+                        long loadStart = System.nanoTime();
+                        netTrainingSettings.dataset = DatasetCache.load(netTrainingSettings.trainingDataFilePath, false);
+                        netTrainingSettings.datasetLoadNanos = System.nanoTime() - loadStart;
+                    } catch (IOException e){
+                        System.out.println("Error reading file: " + e.getMessage() + "\n");
+                        return 1;
+                    }
+                    int numEpochs = FlatNeuralNet.train(netTrainingSettings);
                     if (numEpochs > 0){
                         System.out.println("Training convereged after " + numEpochs + " epochs.\n");
                     }else{
@@ -62,9 +73,21 @@ public class UserIO {
                 // User selecets testing
                 case 2:
                     netTestingSettings = getTestingSettings(netTestingSettings);
-                    netTestingSettings.dataset = FileParser.parseDataFile(netTestingSettings.testingDataFilePath);
-                    FileParser.parseTrainedWeights(netTestingSettings);
-                    NeuralNet.test(netTestingSettings);
+                    try {
+                        netTestingSettings.dataset = DatasetCache.load(netTestingSettings.testingDataFilePath, true);
+                    } catch (IOException e){
+                        System.out.println("Error reading file: " + e.getMessage() + "\n");
+                        return 2;
+                    }
+                    try {
+                        netTestingSettings.trainedModel = modelCache.get(netTestingSettings.trainedWeightsFilePath);
+                    } catch (IOException e){
+                        System.out.println("Error reading file: " + e.getMessage() + "\n");
+                        return 2;
+                    }
+                    netTestingSettings.thetaThreshold = netTestingSettings.trainedModel.thetaThreshold;
+                    FlatNeuralNet.test(netTestingSettings);
+                    System.out.println(modelCache.statistics() + "\n");
                     //System.out.println(testingResults);
                     return 2;
                 // User quits program
@@ -99,9 +122,19 @@ public class UserIO {
         netTrainingSettings.trainingDataFilePath = trainingFilePath;
 
         // Get weight initialization selection
-        String weightPrompt = "\nEnter 0 to initialize weights to 0, enter 1 to initialize weights to random values between -0.5 and 0.5:";
-        int weightChoice = getIntInput(weightPrompt, 0, 1);
+        String weightPrompt = "\nEnter 0 to initialize weights to 0, enter 1 to initialize weights to random values between -0.5 and 0.5, enter 2 to start from a trained weights file:";
+        int weightChoice = getIntInput(weightPrompt, 0, 2);
         netTrainingSettings.setWeightsToZero = (weightChoice == 0);
+        netTrainingSettings.initialWeightsFilePath = null;
+        netTrainingSettings.trainingSubset = null;
+        if (weightChoice == 2){
+            // Get weights file to start from and the samples to train on
+            String initialWeightsPrompt = "\nEnter the trained net weight file name to start from:";
+            netTrainingSettings.initialWeightsFilePath = getValidFile(initialWeightsPrompt);
+            System.out.println("\nEnter the sample numbers to train on, such as 22-30 or 22- for sample 22 onwards (leave blank for all samples):");
+            String subset = scanner.nextLine().trim();
+            netTrainingSettings.trainingSubset = subset.isEmpty() ? null : subset;
+        }
 
         // Get maximum epochs
         String epochPrompt = "\nEnter the maximum number of training epochs:";
@@ -109,7 +142,7 @@ public class UserIO {
         netTrainingSettings.maxEpochs = epochChoice;
 
         // Get file name to save trained weights to
-        String trainedWeightOutputPrompt = "\nEnter a file name to save the trained weight values:";
+        String trainedWeightOutputPrompt = "\nEnter a file name to save the trained weight values (end it with " + BinaryWeightsFile.EXTENSION + " for the binary format):";
         String trainedWeightOutputFile = getValidFilename(trainedWeightOutputPrompt);
         netTrainingSettings.trainedWeightsFile = trainedWeightOutputFile;
 
@@ -179,6 +212,24 @@ public class UserIO {
                 System.out.println("Invalid filename, Please try again!");
             }
         } while (!isValidFilename(filename));
+        return menuFilePath(filename);
+    }
+
+    /*
+    Turns a file name entered in the menu into a path in the proj1 folder. The
+    name gets the .txt extension unless it already ends with .txt or with the
+    binary weights extension.
+
+    Parameters:
+    - filename - name of file specified by user
+
+    Return:
+    - String representing the file's path
+    */
+    private static String menuFilePath(String filename){
+        if (filename.endsWith(".txt") || filename.endsWith(BinaryWeightsFile.EXTENSION)){
+            return "proj1/" + filename;
+        }
         return "proj1/" + filename + ".txt";
     }
 
@@ -272,7 +323,7 @@ public class UserIO {
         String filePath;
         System.out.println(prompt);
         do{
-            filePath = "proj1/" + scanner.nextLine().trim() + ".txt";
+            filePath = menuFilePath(scanner.nextLine().trim());
             file = new File(filePath);
 
             if(!file.exists()){
@@ -0,0 +1,53 @@
+/*
+ * This program converts trained weights files between the text format written
+ * by NeuralNet.saveWeightsToFile and the binary format of BinaryWeightsFile.
+ * Converting binary to text rounds every weight to 6 decimals, as the text
+ * format always has.
+ *
+ * Usage:
+ *     WeightsFormatConverter <input weights file> <output weights file>
+ * The input format is detected from the file, the output format is binary if
+ * the output name ends with .bin and text otherwise.
+ *
+ * Authors:
+ * - Cory Tamburrino
+ * - David Kujawinski
+ * - Dinh Troung
+ *
+ * Date Last Modified: 10/17/2026
+ */
+
+import java.io.IOException;
+
+public class WeightsFormatConverter {
+    public static void main(String[] args){
+        if (args.length != 2){
+            System.out.println("Usage: WeightsFormatConverter <input weights file> <output weights file>");
+            return;
+        }
+        convert(args[0], args[1]);
+    }
+
+    public static void convert(String inputFileName, String outputFileName){
+    /*
+    Reads a weights file in either format and saves it in the format chosen by
+    the output file name
+
+    Parameters:
+    - String inputFileName: weights file to read
+    - String outputFileName: weights file to write
+    */
+        TestingSettings settings = new TestingSettings();
+        settings.trainedWeightsFilePath = inputFileName;
+        FileParser.parseTrainedWeights(settings);
+        if (settings.trainedModel == null){
+            System.out.println("Could not convert " + inputFileName);
+            return;
+        }
+        try {
+            FlatNeuralNet.saveModel(settings.trainedModel, outputFileName);
+        } catch (IOException e){
+            System.out.println("Could not convert " + inputFileName + ": " + e.getMessage());
+        }
+    }
+}